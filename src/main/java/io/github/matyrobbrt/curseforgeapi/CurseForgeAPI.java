@@ -27,18 +27,35 @@
 
 package io.github.matyrobbrt.curseforgeapi;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.lang.StackWalker.Option;
 import java.net.URI;
-import java.net.URL;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 import javax.security.auth.login.LoginException;
 
@@ -49,18 +66,34 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.GenericRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.request.Priority;
+import io.github.matyrobbrt.curseforgeapi.request.RawResponse;
 import io.github.matyrobbrt.curseforgeapi.request.Request;
 import io.github.matyrobbrt.curseforgeapi.request.Requests;
 import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.request.async.AsyncRequestValues;
 import io.github.matyrobbrt.curseforgeapi.request.async.OfHttpResponseAsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.cache.ResponseCache;
+import io.github.matyrobbrt.curseforgeapi.request.circuit.CircuitBreaker;
+import io.github.matyrobbrt.curseforgeapi.request.circuit.CircuitBreakers;
+import io.github.matyrobbrt.curseforgeapi.request.circuit.CircuitOpenException;
+import io.github.matyrobbrt.curseforgeapi.request.cache.TinyLfuResponseCache;
+import io.github.matyrobbrt.curseforgeapi.request.concurrency.ConcurrencyLimiter;
+import io.github.matyrobbrt.curseforgeapi.request.hedging.HedgingPolicy;
 import io.github.matyrobbrt.curseforgeapi.request.helper.AsyncRequestHelper;
 import io.github.matyrobbrt.curseforgeapi.request.helper.RequestHelper;
+import io.github.matyrobbrt.curseforgeapi.request.ratelimit.RateLimiter;
+import io.github.matyrobbrt.curseforgeapi.request.retry.RetryPolicy;
+import io.github.matyrobbrt.curseforgeapi.request.scheduling.PriorityScheduler;
 import io.github.matyrobbrt.curseforgeapi.request.uploadapi.UploadApiRequest;
 import io.github.matyrobbrt.curseforgeapi.request.uploadapi.UploadApiRequests;
 import io.github.matyrobbrt.curseforgeapi.schemas.ApiStatus;
@@ -73,11 +106,13 @@ import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModLoaderType;
 import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModStatus;
 import io.github.matyrobbrt.curseforgeapi.util.Constants;
 import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+import io.github.matyrobbrt.curseforgeapi.util.ExceptionFunction;
 import io.github.matyrobbrt.curseforgeapi.util.Utils;
 import io.github.matyrobbrt.curseforgeapi.util.Constants.GameIDs;
 import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
 import io.github.matyrobbrt.curseforgeapi.util.gson.CFSchemaEnumTypeAdapter;
 import io.github.matyrobbrt.curseforgeapi.util.gson.RecordTypeAdapterFactory;
+import io.github.matyrobbrt.curseforgeapi.util.gson.SchemaTypeAdapterFactory;
 
 /**
  * The main class used for communicating with
@@ -107,6 +142,9 @@ public class CurseForgeAPI {
     public static final Gson DEFAULT_GSON = Utils.makeWithSupplier(() -> {
         final var gsonBuilder = new GsonBuilder().setPrettyPrinting().setLenient().disableHtmlEscaping().serializeNulls()
             .registerTypeAdapterFactory(new RecordTypeAdapterFactory());
+        // Adapters generated for the schemas take precedence over the reflective record factory
+        ServiceLoader.load(SchemaTypeAdapterFactory.class, SchemaTypeAdapterFactory.class.getClassLoader())
+            .forEach(gsonBuilder::registerTypeAdapterFactory);
 
         final List<Class<? extends Enum<?>>> cfSchemaEnums = List.of(ApiStatus.class, FileRelationType.class,
             FileReleaseType.class, FileStatus.class, HashAlgo.class, Status.class,
@@ -125,6 +163,21 @@ public class CurseForgeAPI {
         .build();
     //@formatter:on
 
+    /**
+     * The factory that supplies the default {@link java.net.http.HttpClient} used
+     * when {@link Builder#virtualThreads(boolean) virtual threads} are enabled,
+     * which runs the completion of exchanges on virtual threads.
+     */
+    //@formatter:off
+    public static final Supplier<HttpClient> VIRTUAL_THREAD_HTTP_CLIENT_FACTORY = () -> HttpClient
+        .newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(AsyncRequestValues.getVirtualThreadExecutor())
+        .build();
+    //@formatter:on
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
     @Nullable
     private final String apiKey;
     @Nullable
@@ -132,6 +185,31 @@ public class CurseForgeAPI {
     private final HttpClient httpClient;
     private final Gson gson;
     private final Logger logger;
+    @Nullable
+    private final ResponseCache responseCache;
+    private final boolean deduplicateRequests;
+    private final boolean compressResponses;
+    private final int requestCompressionThreshold;
+    private volatile boolean requestCompressionRejected;
+    @Nullable
+    private final RateLimiter rateLimiter;
+    @Nullable
+    private final RetryPolicy retryPolicy;
+    @Nullable
+    private final CircuitBreakers circuitBreakers;
+    @Nullable
+    private final HedgingPolicy hedgingPolicy;
+    @Nullable
+    private final ConcurrencyLimiter concurrencyLimiter;
+    @Nullable
+    private final PriorityScheduler scheduler;
+    private final Map<InFlightKey, InFlightExchange> inFlightRequests = new ConcurrentHashMap<>();
+    /**
+     * The executor which runs the delayed work of this instance, such as retries
+     * and hedges.
+     */
+    private final Executor executor;
+    private final boolean virtualThreads;
 
     private final RequestHelper helper = new RequestHelper(this);
     private final AsyncRequestHelper asyncHelper = new AsyncRequestHelper(this);
@@ -143,19 +221,36 @@ public class CurseForgeAPI {
      *          accessible}) to this constructor will result in an
      *          {@link IllegalCallerException}.
      */
-    private CurseForgeAPI(@Nullable String apiKey, @Nullable String uploadApiToken, HttpClient httpClient, Gson gson,
-        Logger logger) {
+    private CurseForgeAPI(Builder builder) {
         // Make sure that the constructor is not called illegally, because that can
         // prevent
         // the token check, which is mandatory
         if (StackWalker.getInstance(Option.RETAIN_CLASS_REFERENCE).getCallerClass() != Builder.class) {
             throw new IllegalCallerException("Illegal access to constructor!");
         }
-        this.apiKey = apiKey;
-        this.uploadApiToken = uploadApiToken;
-        this.httpClient = httpClient;
-        this.gson = gson;
-        this.logger = logger;
+        this.apiKey = builder.apiKey;
+        this.uploadApiToken = builder.uploadApiToken;
+        this.virtualThreads = builder.virtualThreads;
+        if (builder.virtualThreads) {
+            this.executor = AsyncRequestValues.getVirtualThreadExecutor();
+            this.httpClient = builder.httpClient == DEFAULT_HTTP_CLIENT_FACTORY ? VIRTUAL_THREAD_HTTP_CLIENT_FACTORY.get()
+                : builder.httpClient.get();
+        } else {
+            this.executor = ForkJoinPool.commonPool();
+            this.httpClient = builder.httpClient.get();
+        }
+        this.gson = builder.gson;
+        this.logger = builder.logger;
+        this.responseCache = builder.responseCache;
+        this.deduplicateRequests = builder.deduplicateRequests;
+        this.compressResponses = builder.compressResponses;
+        this.requestCompressionThreshold = builder.requestCompressionThreshold;
+        this.rateLimiter = builder.rateLimiter;
+        this.retryPolicy = builder.retryPolicy;
+        this.circuitBreakers = builder.circuitBreakers;
+        this.hedgingPolicy = builder.hedgingPolicy;
+        this.concurrencyLimiter = builder.concurrencyLimiter;
+        this.scheduler = builder.scheduler;
     }
 
     /**
@@ -180,6 +275,18 @@ public class CurseForgeAPI {
         this.gson = DEFAULT_GSON;
         this.httpClient = DEFAULT_HTTP_CLIENT_FACTORY.get();
         this.logger = LoggerFactory.getLogger(CurseForgeAPI.class);
+        this.responseCache = null;
+        this.deduplicateRequests = false;
+        this.compressResponses = false;
+        this.requestCompressionThreshold = -1;
+        this.rateLimiter = null;
+        this.retryPolicy = null;
+        this.circuitBreakers = null;
+        this.hedgingPolicy = null;
+        this.concurrencyLimiter = null;
+        this.scheduler = null;
+        this.executor = ForkJoinPool.commonPool();
+        this.virtualThreads = false;
         if (!isAuthorized())
             throw new IllegalArgumentException("Invalid API Key!");
     }
@@ -199,6 +306,18 @@ public class CurseForgeAPI {
         this.gson = gson;
         this.logger = logger;
         this.uploadApiToken = null;
+        this.responseCache = null;
+        this.deduplicateRequests = false;
+        this.compressResponses = false;
+        this.requestCompressionThreshold = -1;
+        this.rateLimiter = null;
+        this.retryPolicy = null;
+        this.circuitBreakers = null;
+        this.hedgingPolicy = null;
+        this.concurrencyLimiter = null;
+        this.scheduler = null;
+        this.executor = ForkJoinPool.commonPool();
+        this.virtualThreads = false;
         if (!isAuthorized())
             throw new IllegalArgumentException("Invalid API Key!");
     }
@@ -263,6 +382,94 @@ public class CurseForgeAPI {
         return uploadApiToken;
     }
 
+    /**
+     * @return the cache of the API responses, or {@code null} if responses are not
+     *         cached
+     */
+    @Nullable
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * @return the limiter of the rate of requests to the CurseForge API, or
+     *         {@code null} if the rate is not limited
+     */
+    @Nullable
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @return the policy used for retrying failed requests to the CurseForge API,
+     *         or {@code null} if requests are not retried
+     */
+    @Nullable
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * @return the circuit breakers guarding the requests, or {@code null} if
+     *         requests are not guarded
+     */
+    @Nullable
+    public CircuitBreakers getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * @return the policy used for hedging slow async requests, or {@code null} if
+     *         requests are not hedged
+     */
+    @Nullable
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * @return the limiter of concurrent exchanges with the CurseForge API, or
+     *         {@code null} if the exchanges are not limited
+     */
+    @Nullable
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * @return the scheduler which dispatches requests by their priority, or
+     *         {@code null} if requests are sent as soon as they are made
+     */
+    @Nullable
+    public PriorityScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return if this instance runs its work, and the suppliers made with
+     *         {@link #supplyAsync(Supplier)}, on virtual threads
+     */
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} with the result supplied by the
+     * {@code supplier}, which may make <b>blocking</b> requests, like the ones of
+     * the {@link #getHelper() helper}. <br>
+     * If {@link Builder#virtualThreads(boolean) virtual threads} are enabled, the
+     * supplier runs on a new virtual thread. Otherwise, it runs on the
+     * {@link AsyncRequestValues#getFutureExecutor() future executor}, like the
+     * suppliers of {@link AsyncRequest#of(Supplier)}.
+     * 
+     * @param  <T>      the type of the result
+     * @param  supplier the supplier which supplies the result
+     * @return          the async request
+     */
+    public <T> AsyncRequest<T> supplyAsync(Supplier<T> supplier) {
+        return AsyncRequest.of(supplier, virtualThreads ? executor : AsyncRequestValues.getFutureExecutor());
+    }
+
     /**
      * @return the helper used for direct requests, without going through
      *         {@link Requests} first
@@ -284,14 +491,14 @@ public class CurseForgeAPI {
      * 
      * @param  <R>                 the type of the request result
      * @param  request             the request to send
-     * @return                     the response of the request, deserialized from a
-     *                             {@link JsonObject} using
-     *                             {@link Request#decodeResponse(WrappedJson)}, if
-     *                             present
+     * @return                     the response of the request, decoded directly
+     *                             from the response body using
+     *                             {@link Request#decodeResponse(Gson, JsonReader)},
+     *                             if present
      * @throws CurseForgeException
      */
     public <R> Response<R> makeRequest(Request<? extends R> request) throws CurseForgeException {
-        return makeGenericRequest(request).map(j -> request.decodeResponse(getGson(), j));
+        return sendRequest(request, reader -> request.decodeResponse(gson, reader));
     }
 
     /**
@@ -303,35 +510,31 @@ public class CurseForgeAPI {
      */
     @Nonnull
     public Response<JsonObject> makeGenericRequest(GenericRequest genericRequest) throws CurseForgeException {
+        return sendRequest(genericRequest, reader -> gson.fromJson(reader, JsonObject.class));
+    }
+
+    private <R> Response<R> sendRequest(GenericRequest genericRequest,
+        ExceptionFunction<JsonReader, ? extends R, IOException> decoder) throws CurseForgeException {
         if (apiKey == null)
             throw new CurseForgeException("Cannot make requests with a null API key!");
-        int statusCode = 0;
+        RawResponse response = null;
+        CompletableFuture<RawResponse> exchange = null;
         try {
-            final URL target = new URL(REQUEST_TARGET + genericRequest.endpoint());
-            final var httpRequest = Utils.makeWithSupplier(() -> {
-                var r = HttpRequest.newBuilder(URI.create(target.toString())).header("Accept", "application/json")
-                    .header("x-api-key", apiKey);
-                r = switch (genericRequest.method()) {
-                case GET -> r.GET();
-                case POST -> r.POST(BodyPublishers.ofString(genericRequest.body().toString())).header("Content-Type",
-                    "application/json");
-                case PUT -> r.PUT(BodyPublishers.ofString(genericRequest.body().toString()));
-                };
-                return r;
-            }).build();
-            final var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            statusCode = response.statusCode();
-            if (statusCode == StatusCodes.NOT_FOUND || statusCode == StatusCodes.API_UNAVAILABLE || statusCode == StatusCodes.GATEWAY_TIMEOUT) {
-                return Response.empty(statusCode);
-            }
-            return Response.ofNullableAndStatusCode(gson.fromJson(response.body(), JsonObject.class), statusCode);
+            exchange = exchange(genericRequest, true);
+            response = exchange.get();
+            return decodeResponse(response, decoder);
+        } catch (CurseForgeException e) {
+            throw e;
         } catch (InterruptedException ine) {
-            logger.error(
-                "InterruptedException while awaiting CurseForge response, which returned with the status code: ", ine);
+            // The response is abandoned, so stop the exchange and give back its permits
+            exchange.cancel(true);
+            logger.error("InterruptedException while awaiting CurseForge response.", ine);
             Thread.currentThread().interrupt();
-            return Response.empty(statusCode);
+            return Response.empty(0);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof CurseForgeException cfe ? cfe : new CurseForgeException(e.getCause());
         } catch (Exception e) {
-            logger.info("Status code was {}", statusCode);
+            logger.info("Status code was {}", response == null ? 0 : response.statusCode());
             throw new CurseForgeException(e);
         }
     }
@@ -345,13 +548,13 @@ public class CurseForgeAPI {
      * @param  request             the request to send
      * @return                     the async request, which will be sent when
      *                             {@link AsyncRequest#queue} is called. The result
-     *                             is deserialized from a {@link JsonObject} using
-     *                             {@link Request#decodeResponse(WrappedJson)}, if
-     *                             present
+     *                             is decoded directly from the response body using
+     *                             {@link Request#decodeResponse(Gson, JsonReader)},
+     *                             if present
      * @throws CurseForgeException
      */
     public <R> AsyncRequest<Response<R>> makeAsyncRequest(Request<? extends R> request) throws CurseForgeException {
-        return makeAsyncGenericRequest(request).map(r -> r.map(j -> request.decodeResponse(getGson(), j)));
+        return sendAsyncRequest(request, reader -> request.decodeResponse(gson, reader));
     }
 
     /**
@@ -365,33 +568,602 @@ public class CurseForgeAPI {
     @Nonnull
     public AsyncRequest<Response<JsonObject>> makeAsyncGenericRequest(GenericRequest genericRequest)
         throws CurseForgeException {
+        return sendAsyncRequest(genericRequest, reader -> gson.fromJson(reader, JsonObject.class));
+    }
+
+    private <R> AsyncRequest<Response<R>> sendAsyncRequest(GenericRequest genericRequest,
+        ExceptionFunction<JsonReader, ? extends R, IOException> decoder) throws CurseForgeException {
         if (apiKey == null)
             throw new CurseForgeException("Cannot make requests with a null API key!");
         try {
-            final URL target = new URL(REQUEST_TARGET + genericRequest.endpoint());
-            final var httpRequest = Utils.makeWithSupplier(() -> {
-                var r = HttpRequest.newBuilder(URI.create(target.toString())).header("Accept", "application/json")
-                    .header("x-api-key", apiKey);
-                r = switch (genericRequest.method()) {
-                case GET -> r.GET();
-                case POST -> r.POST(BodyPublishers.ofString(genericRequest.body().toString())).header("Content-Type",
-                    "application/json");
-                case PUT -> r.PUT(BodyPublishers.ofString(genericRequest.body().toString()));
-                };
-                return r;
-            }).build();
-            return new OfHttpResponseAsyncRequest<>(httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() == StatusCodes.NOT_FOUND || response.statusCode() == StatusCodes.API_UNAVAILABLE || response.statusCode() == StatusCodes.GATEWAY_TIMEOUT) {
-                        return Response.empty(response.statusCode());
+            final var exchange = exchange(genericRequest, false);
+            return new OfHttpResponseAsyncRequest<>(Utils.propagateCancellation(exchange
+                .thenApply(Utils.rethrowFunction(response -> decodeResponse(response, decoder))), exchange));
+        } catch (CurseForgeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CurseForgeException(e);
+        }
+    }
+
+    /**
+     * Sends the {@code genericRequest}, or gets its response from the
+     * {@link #responseCache}, if cached. If an identical request is already in
+     * flight, its response is shared instead of sending another one.
+     * 
+     * @param blocking if the caller blocks until the response is received
+     */
+    private CompletableFuture<RawResponse> exchange(GenericRequest genericRequest, boolean blocking)
+        throws CurseForgeException {
+        final var idempotent = genericRequest.method() != Method.PUT;
+        if (idempotent && responseCache != null) {
+            final var cached = responseCache.get(genericRequest);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        if (!idempotent || !deduplicateRequests) {
+            return send(genericRequest, blocking);
+        }
+        final var key = new InFlightKey(genericRequest, genericRequest.priority(), blocking);
+        retry: while (true) {
+            // Only join exchanges dispatched with the same or a higher priority, so
+            // that the request doesn't wait behind lower priority ones
+            for (int i = 0; i <= key.priority().ordinal(); i++) {
+                final var joinedKey = new InFlightKey(genericRequest, PRIORITIES[i], blocking);
+                final var inFlight = inFlightRequests.get(joinedKey);
+                if (inFlight != null) {
+                    if (inFlight.tryJoin()) {
+                        return inFlight.subscribe(joinedKey);
+                    }
+                    // All the callers of the exchange cancelled it, so send another one
+                    inFlightRequests.remove(joinedKey, inFlight);
+                    continue retry;
+                }
+            }
+            final var exchange = new InFlightExchange();
+            if (inFlightRequests.putIfAbsent(key, exchange) != null) {
+                continue;
+            }
+            try {
+                final var sent = send(genericRequest, blocking);
+                Utils.propagateCancellation(exchange.future, sent);
+                sent.whenComplete((response, t) -> {
+                    inFlightRequests.remove(key, exchange);
+                    if (t != null) {
+                        exchange.future.completeExceptionally(t);
                     } else {
-                        return Response
-                         .ofNullableAndStatusCode(gson.fromJson(response.body(), JsonObject.class), response.statusCode());
+                        exchange.future.complete(response);
                     }
-                }));
-        } catch (Exception e) {
+                });
+            } catch (CurseForgeException | RuntimeException e) {
+                inFlightRequests.remove(key, exchange);
+                exchange.future.completeExceptionally(e);
+                throw e;
+            }
+            return exchange.subscribe(key);
+        }
+    }
+
+    /**
+     * The key of an in-flight exchange. A request only joins the exchanges of
+     * identical requests with the same or a higher priority, and otherwise
+     * dispatches its own. <br>
+     * Blocking and async requests wait for rate limit permits differently, so
+     * they only join the exchanges of requests made the same way.
+     */
+    private record InFlightKey(GenericRequest request, Priority priority, boolean blocking) {
+
+    }
+
+    /**
+     * An exchange shared by the callers of identical requests. Each caller gets
+     * its own future, and the exchange is only cancelled once all of them
+     * cancel theirs.
+     */
+    private final class InFlightExchange {
+
+        private final CompletableFuture<RawResponse> future = new CompletableFuture<>();
+        private final AtomicInteger subscribers = new AtomicInteger(1);
+
+        /**
+         * Joins this exchange, unless all of its subscribers cancelled it.
+         */
+        boolean tryJoin() {
+            int count;
+            do {
+                count = subscribers.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!subscribers.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        CompletableFuture<RawResponse> subscribe(InFlightKey key) {
+            final var subscription = new CompletableFuture<RawResponse>();
+            Utils.completeFrom(subscription, future);
+            subscription.whenComplete((response, t) -> {
+                if (subscription.isCancelled() && subscribers.decrementAndGet() == 0) {
+                    inFlightRequests.remove(key, this);
+                    future.cancel(true);
+                }
+            });
+            return subscription;
+        }
+    }
+
+    /**
+     * Sends the {@code genericRequest}, retrying it according to the
+     * {@link #retryPolicy}, if idempotent.
+     */
+    private CompletableFuture<RawResponse> send(GenericRequest genericRequest, boolean blocking)
+        throws CurseForgeException {
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = buildHttpRequest(genericRequest);
+        } catch (IOException | IllegalArgumentException e) {
             throw new CurseForgeException(e);
         }
+        final var retry = retryPolicy != null && retryPolicy.isIdempotent(genericRequest);
+        if (retry) {
+            retryPolicy.onRequest();
+        }
+        final var result = new CompletableFuture<RawResponse>();
+        final var sent = sendRequest(genericRequest, httpRequest, blocking, retry);
+        Utils.propagateCancellation(result, sent);
+        sent.whenComplete((httpResponse, t) -> {
+            if (t == null && httpResponse.statusCode() == StatusCodes.UNSUPPORTED_MEDIA_TYPE
+                && httpRequest.headers().firstValue("Content-Encoding").isPresent()) {
+                // The server doesn't accept compressed bodies, so resend it uncompressed
+                requestCompressionRejected = true;
+                logger.warn("The CurseForge API rejected a compressed request body; request bodies will no longer be compressed.");
+                final HttpRequest uncompressed;
+                try {
+                    uncompressed = buildHttpRequest(genericRequest);
+                } catch (IOException | IllegalArgumentException e) {
+                    result.completeExceptionally(new CurseForgeException(e));
+                    return;
+                }
+                final var resent = sendRequest(genericRequest, uncompressed, blocking, retry);
+                Utils.propagateCancellation(result, resent);
+                resent.whenComplete((response, t1) -> complete(result, genericRequest, response, t1));
+            } else {
+                complete(result, genericRequest, httpResponse, t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends the {@code httpRequest}, retrying it according to the
+     * {@link #retryPolicy} if {@code retry} is {@code true}.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendRequest(GenericRequest genericRequest,
+        HttpRequest httpRequest, boolean blocking, boolean retry) {
+        if (!retry) {
+            return sendScheduled(genericRequest, httpRequest, blocking);
+        }
+        final var result = new CompletableFuture<HttpResponse<byte[]>>();
+        sendWithRetries(genericRequest, httpRequest, blocking, 1, result);
+        return result;
+    }
+
+    /**
+     * Completes the {@code result} with the {@code httpResponse}, caching it if
+     * successful.
+     */
+    private void complete(CompletableFuture<RawResponse> result, GenericRequest genericRequest,
+        @Nullable HttpResponse<byte[]> httpResponse, @Nullable Throwable t) {
+        if (t != null) {
+            result.completeExceptionally(t);
+            return;
+        }
+        final var response = new RawResponse(httpResponse.statusCode(), httpResponse.body(),
+            httpResponse.headers().firstValue("Content-Encoding").orElse(null));
+        if (responseCache != null && genericRequest.method() != Method.PUT
+            && response.statusCode() >= 200 && response.statusCode() < 300) {
+            responseCache.put(genericRequest, response);
+        }
+        result.complete(response);
+    }
+
+    /**
+     * Sends an attempt of the {@code genericRequest}, completing the
+     * {@code result} with its response unless it should be retried. Cancelling
+     * the {@code result} cancels the current attempt, and stops retrying.
+     */
+    private void sendWithRetries(GenericRequest genericRequest, HttpRequest httpRequest, boolean blocking,
+        int attempt, CompletableFuture<HttpResponse<byte[]>> result) {
+        if (result.isDone()) {
+            return;
+        }
+        final var sent = sendScheduled(genericRequest, httpRequest, blocking);
+        Utils.propagateCancellation(result, sent);
+        sent.whenComplete((response, t) -> {
+            if (result.isDone()) {
+                return;
+            }
+            final var delay = retryPolicy.getRetryDelay(attempt, response, t);
+            if (delay == null) {
+                if (t != null) {
+                    result.completeExceptionally(t);
+                } else {
+                    result.complete(response);
+                }
+                return;
+            }
+            logger.debug("Retrying request to '{}' in {} (attempt {} failed)", genericRequest.endpoint(), delay, attempt);
+            AsyncRequestValues.schedule(() -> sendWithRetries(genericRequest, httpRequest, blocking, attempt + 1, result),
+                delay.toNanos(), executor);
+        });
+    }
+
+    /**
+     * Sends an attempt of the {@code genericRequest} once the {@link #scheduler}
+     * dispatches it.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendScheduled(GenericRequest genericRequest,
+        HttpRequest httpRequest, boolean blocking) {
+        if (scheduler == null) {
+            return sendAttempt(genericRequest, httpRequest, blocking);
+        }
+        final var permit = scheduler.acquire(genericRequest.priority());
+        if (permit.isDone()) {
+            return sendDispatched(permit.join(), genericRequest, httpRequest, blocking);
+        }
+        final var result = new CompletableFuture<HttpResponse<byte[]>>();
+        Utils.propagateCancellation(result, permit);
+        permit.thenAccept(p -> {
+            if (result.isDone()) {
+                p.release();
+                return;
+            }
+            final var sent = sendDispatched(p, genericRequest, httpRequest, blocking);
+            Utils.completeFrom(result, sent);
+            Utils.propagateCancellation(result, sent);
+        });
+        return result;
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> sendDispatched(PriorityScheduler.Permit permit,
+        GenericRequest genericRequest, HttpRequest httpRequest, boolean blocking) {
+        final var sent = sendAttempt(genericRequest, httpRequest, blocking);
+        return Utils.whenComplete(sent, (response, t) -> permit.release());
+    }
+
+    /**
+     * Sends an attempt of the {@code genericRequest}, hedging it according to the
+     * {@link #hedgingPolicy} if it is async.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendAttempt(GenericRequest genericRequest, HttpRequest httpRequest,
+        boolean blocking) {
+        if (blocking || hedgingPolicy == null || !hedgingPolicy.canHedge(genericRequest)) {
+            return sendHttp(genericRequest, httpRequest, blocking, null);
+        }
+        return new HedgedExchange(genericRequest, httpRequest).send();
+    }
+
+    /**
+     * An exchange which is hedged with a second request if it is slow. The first
+     * successful response wins, and the other request is cancelled. Throttled
+     * and failed responses don't win, unless both requests get one.
+     */
+    private final class HedgedExchange {
+
+        private final GenericRequest genericRequest;
+        private final HttpRequest httpRequest;
+        private final CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        private final AtomicReference<CompletableFuture<HttpResponse<byte[]>>> hedge = new AtomicReference<>();
+        // The amount of sent requests which did not complete yet
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+        // The last unsuccessful response, used if neither request succeeds
+        private final AtomicReference<HttpResponse<byte[]>> lastResponse = new AtomicReference<>();
+        private final AtomicBoolean won = new AtomicBoolean();
+        private volatile long dispatchedAt;
+        @Nullable
+        private volatile ScheduledFuture<?> scheduledHedge;
+
+        HedgedExchange(GenericRequest genericRequest, HttpRequest httpRequest) {
+            this.genericRequest = genericRequest;
+            this.httpRequest = httpRequest;
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> send() {
+            final var primary = sendHttp(genericRequest, httpRequest, false, this::onPrimaryDispatched);
+            primary.whenComplete((response, t) -> onOutcome(response, t, false));
+            result.whenComplete((response, t) -> {
+                primary.cancel(true);
+                final var scheduled = scheduledHedge;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                final var hedgeFuture = hedge.get();
+                if (hedgeFuture != null) {
+                    hedgeFuture.cancel(true);
+                }
+            });
+            return result;
+        }
+
+        /**
+         * Starts the hedge delay once the primary request is sent, so that the time
+         * it waits for rate limit and concurrency permits doesn't count.
+         */
+        private void onPrimaryDispatched() {
+            dispatchedAt = System.nanoTime();
+            scheduledHedge = AsyncRequestValues.schedule(this::sendHedge, hedgingPolicy.getHedgeDelay().toNanos(),
+                executor);
+        }
+
+        private void sendHedge() {
+            if (result.isDone()) {
+                return;
+            }
+            // The hedge is only sent if the scheduler and the rate limiter permit it immediately
+            final var schedulerPermit = scheduler == null ? null : scheduler.tryAcquire(genericRequest.priority());
+            if (scheduler != null && schedulerPermit == null
+                || rateLimiter != null && !rateLimiter.tryAcquire(genericRequest.endpoint())) {
+                if (schedulerPermit != null) {
+                    schedulerPermit.release();
+                }
+                hedgingPolicy.onHedgeSkipped();
+                return;
+            }
+            outstanding.incrementAndGet();
+            hedgingPolicy.onHedge();
+            final var breaker = circuitBreakers == null ? null : circuitBreakers.forEndpoint(genericRequest.endpoint());
+            final var hedgeFuture = sendLimited(breaker, httpRequest, null);
+            if (schedulerPermit != null) {
+                hedgeFuture.whenComplete((response, t) -> schedulerPermit.release());
+            }
+            hedge.set(hedgeFuture);
+            hedgeFuture.whenComplete((response, t) -> onOutcome(response, t, true));
+            if (result.isDone()) {
+                hedgeFuture.cancel(true);
+            }
+        }
+
+        private void onOutcome(@Nullable HttpResponse<byte[]> response, @Nullable Throwable t, boolean hedged) {
+            if (t == null && response.statusCode() != StatusCodes.TOO_MANY_REQUESTS
+                && response.statusCode() < StatusCodes.INTERNAL_SERVER_ERROR) {
+                if (!result.isDone() && won.compareAndSet(false, true)) {
+                    // Record the win before completing, so that the metrics are up to date for the caller
+                    hedgingPolicy.recordLatency(System.nanoTime() - dispatchedAt);
+                    if (hedged) {
+                        hedgingPolicy.onHedgeWin();
+                    }
+                    result.complete(response);
+                }
+                return;
+            }
+            if (t == null) {
+                lastResponse.set(response);
+            }
+            if (outstanding.decrementAndGet() == 0) {
+                final var last = lastResponse.get();
+                if (last != null) {
+                    result.complete(last);
+                } else {
+                    result.completeExceptionally(t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the {@code httpRequest} once the {@link #rateLimiter} permits it.
+     * Blocking callers fail instead of waiting for longer than
+     * {@link RateLimiter#getMaxBlockingWait()}.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendHttp(GenericRequest genericRequest, HttpRequest httpRequest,
+        boolean blocking, @Nullable Runnable onDispatch) {
+        final var breaker = circuitBreakers == null ? null : circuitBreakers.forEndpoint(genericRequest.endpoint());
+        if (rateLimiter == null) {
+            return sendLimited(breaker, httpRequest, onDispatch);
+        }
+        final var endpoint = genericRequest.endpoint();
+        final var permit = blocking ? rateLimiter.acquire(endpoint, rateLimiter.getMaxBlockingWait())
+            : rateLimiter.acquire(endpoint);
+        if (permit == null) {
+            return CompletableFuture.failedFuture(new CurseForgeException("Could not acquire a rate limit permit for '%s' within %s"
+                .formatted(endpoint, rateLimiter.getMaxBlockingWait())));
+        }
+        if (permit.isDone()) {
+            return sendLimited(breaker, httpRequest, onDispatch);
+        }
+        final var result = new CompletableFuture<HttpResponse<byte[]>>();
+        // Requests cancelled while waiting for the permit give it back
+        Utils.propagateCancellation(result, permit);
+        permit.thenRun(() -> {
+            // Don't send requests which were cancelled while waiting for the permit
+            if (!result.isDone()) {
+                final var sent = sendLimited(breaker, httpRequest, onDispatch);
+                Utils.completeFrom(result, sent);
+                Utils.propagateCancellation(result, sent);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends the {@code httpRequest} once the circuit {@code breaker} and the
+     * {@link #concurrencyLimiter} permit it, and records its outcome. Throttled
+     * and failed exchanges count as dropped. <br>
+     * The breaker is checked first, so that requests it rejects neither wait
+     * for, nor affect the limit of concurrent exchanges.
+     * 
+     * @param onDispatch called right before the {@code httpRequest} is sent
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendLimited(@Nullable CircuitBreaker breaker,
+        HttpRequest httpRequest, @Nullable Runnable onDispatch) {
+        final CircuitBreaker.Permit breakerPermit;
+        if (breaker == null) {
+            breakerPermit = null;
+        } else {
+            breakerPermit = breaker.tryAcquire();
+            if (breakerPermit == null) {
+                return CompletableFuture.failedFuture(new CircuitOpenException(breaker.getFamily(), breaker.getState()));
+            }
+        }
+        if (concurrencyLimiter == null) {
+            if (onDispatch != null) {
+                onDispatch.run();
+            }
+            return sendPermitted(breakerPermit, httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        }
+        final var permit = concurrencyLimiter.acquire();
+        if (permit.isDone()) {
+            return sendWithPermit(permit.join(), breakerPermit, httpRequest, onDispatch);
+        }
+        final var result = new CompletableFuture<HttpResponse<byte[]>>();
+        Utils.propagateCancellation(result, permit);
+        permit.whenComplete((p, t) -> {
+            if (t != null || result.isDone()) {
+                if (p != null) {
+                    p.release();
+                }
+                if (breakerPermit != null) {
+                    breakerPermit.release();
+                }
+                return;
+            }
+            final var sent = sendWithPermit(p, breakerPermit, httpRequest, onDispatch);
+            Utils.completeFrom(result, sent);
+            Utils.propagateCancellation(result, sent);
+        });
+        return result;
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> sendWithPermit(ConcurrencyLimiter.Permit permit,
+        @Nullable CircuitBreaker.Permit breakerPermit, HttpRequest httpRequest, @Nullable Runnable onDispatch) {
+        if (onDispatch != null) {
+            onDispatch.run();
+        }
+        final var sent = sendPermitted(breakerPermit, httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        return Utils.whenComplete(sent, (response, t) -> {
+            if (t != null) {
+                // Cancelled and rejected exchanges were not sent, so they say nothing about the API
+                if (t instanceof CancellationException || t.getCause() instanceof CancellationException
+                    || t instanceof CircuitOpenException || t.getCause() instanceof CircuitOpenException) {
+                    permit.release();
+                } else {
+                    permit.onDropped();
+                }
+            } else if (response.statusCode() == StatusCodes.TOO_MANY_REQUESTS
+                || response.statusCode() >= StatusCodes.INTERNAL_SERVER_ERROR) {
+                permit.onDropped();
+            } else {
+                permit.onSuccess();
+            }
+        });
+    }
+
+    /**
+     * Sends the {@code httpRequest} if the circuit {@code breaker} permits it,
+     * and records its outcome. Responses with a server error status code count as
+     * failures.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendGuarded(@Nullable CircuitBreaker breaker, HttpRequest httpRequest,
+        HttpResponse.BodyHandler<T> bodyHandler) {
+        if (breaker == null) {
+            return httpClient.sendAsync(httpRequest, bodyHandler);
+        }
+        final var permit = breaker.tryAcquire();
+        if (permit == null) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(breaker.getFamily(), breaker.getState()));
+        }
+        return sendPermitted(permit, httpRequest, bodyHandler);
+    }
+
+    /**
+     * Sends the {@code httpRequest} with an already acquired circuit breaker
+     * {@code permit}, and records its outcome.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendPermitted(@Nullable CircuitBreaker.Permit permit,
+        HttpRequest httpRequest, HttpResponse.BodyHandler<T> bodyHandler) {
+        if (permit == null) {
+            return httpClient.sendAsync(httpRequest, bodyHandler);
+        }
+        final var sent = httpClient.sendAsync(httpRequest, bodyHandler);
+        return Utils.whenComplete(sent, (response, t) -> {
+            if (t != null) {
+                if (t instanceof CancellationException || t.getCause() instanceof CancellationException) {
+                    permit.release();
+                } else {
+                    permit.onFailure();
+                }
+            } else if (response.statusCode() >= StatusCodes.INTERNAL_SERVER_ERROR) {
+                permit.onFailure();
+            } else {
+                permit.onSuccess();
+            }
+        });
+    }
+
+    private HttpRequest buildHttpRequest(GenericRequest genericRequest) throws IOException {
+        // The endpoint is already encoded, so the URI is parsed directly, only once
+        final var target = URI.create(REQUEST_TARGET.concat(genericRequest.endpoint()));
+        var r = HttpRequest.newBuilder(target).header("Accept", "application/json")
+            .header("x-api-key", apiKey);
+        if (compressResponses) {
+            r = r.header("Accept-Encoding", RawResponse.ACCEPTED_ENCODINGS);
+        }
+        if (genericRequest.method() == Method.GET) {
+            return r.GET().build();
+        }
+        byte[] body = encodeBody(genericRequest.body());
+        if (requestCompressionThreshold >= 0 && body.length >= requestCompressionThreshold
+            && !requestCompressionRejected) {
+            body = gzip(body);
+            r = r.header("Content-Encoding", "gzip");
+        }
+        r = switch (genericRequest.method()) {
+        case POST -> r.POST(BodyPublishers.ofByteArray(body)).header("Content-Type", "application/json");
+        case PUT -> r.PUT(BodyPublishers.ofByteArray(body));
+        default -> throw new IllegalArgumentException("Unknown method: " + genericRequest.method());
+        };
+        return r.build();
+    }
+
+    /**
+     * Serializes the {@code body} as UTF-8 JSON straight into a byte buffer,
+     * without building an intermediate {@link String}.
+     */
+    private byte[] encodeBody(JsonElement body) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        try (final var writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            gson.toJson(body, writer);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        final var out = new ByteArrayOutputStream(bytes.length / 4);
+        try (final var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the body of the {@code response} in a single pass, by reading its
+     * bytes through a {@link JsonReader}, without buffering it into a
+     * {@link String} or a {@link JsonObject} first.
+     */
+    private <R> Response<R> decodeResponse(RawResponse response,
+        ExceptionFunction<JsonReader, ? extends R, IOException> decoder) throws IOException {
+        final var statusCode = response.statusCode();
+        if (statusCode == StatusCodes.NOT_FOUND || statusCode == StatusCodes.API_UNAVAILABLE || statusCode == StatusCodes.GATEWAY_TIMEOUT) {
+            return Response.empty(statusCode);
+        }
+        final var body = response.body();
+        if (body == null || body.length == 0) {
+            return Response.empty(statusCode);
+        }
+        try (final var reader = gson.newJsonReader(new InputStreamReader(response.openBody(), StandardCharsets.UTF_8))) {
+            return Response.ofNullableAndStatusCode(decoder.apply(reader), statusCode);
+        }
     }
 
     /********************************
@@ -418,9 +1190,9 @@ public class CurseForgeAPI {
             throw new CurseForgeException("Cannot make requests with a null Upload API token!");
         int statusCode = 0;
         try {
-            final URL target = new URL(UPLOAD_REQUEST_TARGET.formatted(gameSlug) + request.endpoint());
+            final URI target = URI.create(UPLOAD_REQUEST_TARGET.formatted(gameSlug) + request.endpoint());
             final var httpRequest = Utils.makeWithSupplier(() -> {
-                var r = HttpRequest.newBuilder(URI.create(target.toString())).header("X-Api-Token", uploadApiToken)
+                var r = HttpRequest.newBuilder(target).header("X-Api-Token", uploadApiToken)
                     .header("Content-Type", request.contentType() == null ? "application/json" : request.contentType());
                 r = switch (request.method()) {
                 case GET -> r.GET();
@@ -429,7 +1201,8 @@ public class CurseForgeAPI {
                 };
                 return r;
             }).build();
-            final var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            final var response = sendGuarded(getUploadApiBreaker(), httpRequest, HttpResponse.BodyHandlers.ofString())
+                .get();
             statusCode = response.statusCode();
             if (statusCode == StatusCodes.NOT_FOUND || statusCode == StatusCodes.API_UNAVAILABLE || statusCode == StatusCodes.GATEWAY_TIMEOUT) {
              // A 404 returns the request apparently?
@@ -443,12 +1216,19 @@ public class CurseForgeAPI {
                 ine);
             Thread.currentThread().interrupt();
             return Response.empty(statusCode);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof CurseForgeException cfe ? cfe : new CurseForgeException(e.getCause());
         } catch (Exception e) {
             logger.info("Status code was {}", statusCode);
             throw new CurseForgeException(e);
         }
     }
 
+    @Nullable
+    private CircuitBreaker getUploadApiBreaker() {
+        return circuitBreakers == null ? null : circuitBreakers.get(CircuitBreakers.UPLOAD_API);
+    }
+
     // Async
 
     /**
@@ -469,9 +1249,9 @@ public class CurseForgeAPI {
         if (uploadApiToken == null)
             throw new CurseForgeException("Cannot make requests with a null Upload API token!");
         try {
-            final URL target = new URL(UPLOAD_REQUEST_TARGET.formatted(gameSlug) + request.endpoint());
+            final URI target = URI.create(UPLOAD_REQUEST_TARGET.formatted(gameSlug) + request.endpoint());
             final var httpRequest = Utils.makeWithSupplier(() -> {
-                var r = HttpRequest.newBuilder(URI.create(target.toString())).header("Accept", "application/json")
+                var r = HttpRequest.newBuilder(target).header("Accept", "application/json")
                     .header("X-Api-Token", uploadApiToken);
                 r = switch (request.method()) {
                 case GET -> r.GET();
@@ -480,11 +1260,12 @@ public class CurseForgeAPI {
                 };
                 return r;
             }).build();
-            return new OfHttpResponseAsyncRequest<>(httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+            final var sent = sendGuarded(getUploadApiBreaker(), httpRequest, HttpResponse.BodyHandlers.ofString());
+            return new OfHttpResponseAsyncRequest<>(Utils.propagateCancellation(sent
                 .thenApply(response -> Response
                     // A 404 returns the request apparently?
                     .ofNullableAndStatusCode((response.statusCode() == StatusCodes.NOT_FOUND || response.statusCode() == StatusCodes.API_UNAVAILABLE || response.statusCode() == StatusCodes.GATEWAY_TIMEOUT) ? null : gson.fromJson(response.body(), JsonElement.class), response.statusCode())
-                    .map(j -> request.responseDecoder().apply(gson, j))));
+                    .map(j -> request.responseDecoder().apply(gson, j))), sent));
         } catch (Exception e) {
             throw new CurseForgeException(e);
         }
@@ -507,6 +1288,24 @@ public class CurseForgeAPI {
         private Gson gson = DEFAULT_GSON;
         private Logger logger = LoggerFactory.getLogger(CurseForgeAPI.class);
         private Supplier<HttpClient> httpClient = DEFAULT_HTTP_CLIENT_FACTORY;
+        @Nullable
+        private ResponseCache responseCache;
+        private boolean deduplicateRequests = false;
+        private boolean compressResponses = false;
+        private int requestCompressionThreshold = -1;
+        @Nullable
+        private RateLimiter rateLimiter;
+        @Nullable
+        private RetryPolicy retryPolicy;
+        @Nullable
+        private CircuitBreakers circuitBreakers;
+        @Nullable
+        private HedgingPolicy hedgingPolicy;
+        @Nullable
+        private ConcurrencyLimiter concurrencyLimiter;
+        @Nullable
+        private PriorityScheduler scheduler;
+        private boolean virtualThreads;
 
         /**
          * Sets the API Key used for requests to the
@@ -595,6 +1394,195 @@ public class CurseForgeAPI {
             return this;
         }
 
+        /**
+         * Sets the {@link ResponseCache} used for caching the responses of requests
+         * to the CurseForge API. Responses are cached by the method, endpoint and
+         * body of their request, and only successful responses are cached. <br>
+         * By default, responses are not cached.
+         * 
+         * @param  responseCache the cache, or {@code null} to disable caching
+         * @return               the builder instance, for chaining purposes
+         * @see                  TinyLfuResponseCache
+         */
+        public Builder responseCache(@Nullable ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Sets whether identical requests (with the same method, endpoint and body)
+         * made while one of them is in flight should share its HTTP exchange,
+         * instead of each sending their own. Each request still decodes its own
+         * result, so callers never share mutable objects. A request never joins the
+         * exchange of a request with a lower {@link Priority}. <br>
+         * By default, this is set to {@code false}.
+         * 
+         * @param  deduplicateRequests if identical in-flight requests should be
+         *                             deduplicated
+         * @return                     the builder instance, for chaining purposes
+         */
+        public Builder deduplicateRequests(boolean deduplicateRequests) {
+            this.deduplicateRequests = deduplicateRequests;
+            return this;
+        }
+
+        /**
+         * Sets whether compressed responses ({@code gzip} or {@code deflate})
+         * should be accepted from the CurseForge API. Compressed responses are
+         * cached as received, and decompressed while they are decoded. <br>
+         * By default, this is set to {@code false}.
+         * 
+         * @param  compressResponses if compressed responses should be accepted
+         * @return                   the builder instance, for chaining purposes
+         */
+        public Builder compressResponses(boolean compressResponses) {
+            this.compressResponses = compressResponses;
+            return this;
+        }
+
+        /**
+         * Enables {@code gzip} compression of request bodies which are at least
+         * {@code thresholdBytes} long, such as the bodies of large fingerprint
+         * matching requests. If the CurseForge API rejects a compressed body with
+         * a {@link StatusCodes#UNSUPPORTED_MEDIA_TYPE} response, the request is
+         * resent uncompressed, and request bodies are no longer compressed. <br>
+         * By default, request bodies are not compressed.
+         * 
+         * @param  thresholdBytes the minimum size of a body to compress, in bytes
+         * @return                the builder instance, for chaining purposes
+         */
+        public Builder compressRequestBodies(int thresholdBytes) {
+            if (thresholdBytes < 0) {
+                throw new IllegalArgumentException("thresholdBytes must not be negative");
+            }
+            this.requestCompressionThreshold = thresholdBytes;
+            return this;
+        }
+
+        /**
+         * Sets the {@link RateLimiter} used for limiting the rate of requests sent
+         * to the CurseForge API. Cached and deduplicated requests do not use
+         * permits. <br>
+         * By default, the rate of requests is not limited.
+         * 
+         * @param  rateLimiter the rate limiter, or {@code null} to not limit the
+         *                     rate of requests
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder rateLimiter(@Nullable RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Sets the {@link RetryPolicy} used for retrying requests to the CurseForge
+         * API which fail with an I/O exception or a transient status code, like
+         * {@link StatusCodes#API_UNAVAILABLE}. Each retry takes its own
+         * {@link #rateLimiter(RateLimiter) rate limit} permit. <br>
+         * By default, requests are not retried.
+         * 
+         * @param  retryPolicy the retry policy, or {@code null} to not retry requests
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder retryPolicy(@Nullable RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the {@link CircuitBreakers} guarding the requests to the endpoint
+         * families of the CurseForge API, and to the Upload API. While the breaker
+         * of a family is open, its requests fail immediately with a
+         * {@link CircuitOpenException}. <br>
+         * By default, requests are not guarded.
+         * 
+         * @param  circuitBreakers the circuit breakers, or {@code null} to not guard
+         *                         requests
+         * @return                 the builder instance, for chaining purposes
+         */
+        public Builder circuitBreakers(@Nullable CircuitBreakers circuitBreakers) {
+            this.circuitBreakers = circuitBreakers;
+            return this;
+        }
+
+        /**
+         * Sets the {@link HedgingPolicy} used for hedging slow async {@code GET}
+         * requests: a duplicate is sent if a request takes longer than usual, and
+         * the first response wins. Blocking requests are not hedged. <br>
+         * By default, requests are not hedged.
+         * 
+         * @param  hedgingPolicy the hedging policy, or {@code null} to not hedge
+         *                       requests
+         * @return               the builder instance, for chaining purposes
+         */
+        public Builder hedgingPolicy(@Nullable HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ConcurrencyLimiter} used for adapting the amount of
+         * concurrent exchanges with the CurseForge API to its latency. Exchanges
+         * over the limit wait in a queue. <br>
+         * By default, the exchanges are not limited.
+         * 
+         * @param  concurrencyLimiter the limiter, or {@code null} to not limit the
+         *                            exchanges
+         * @return                    the builder instance, for chaining purposes
+         */
+        public Builder concurrencyLimiter(@Nullable ConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = concurrencyLimiter;
+            return this;
+        }
+
+        /**
+         * Sets the {@link PriorityScheduler} which dispatches requests to the
+         * CurseForge API by their
+         * {@link io.github.matyrobbrt.curseforgeapi.request.Priority priority}, so
+         * that interactive requests don't wait behind bulk work. Each attempt of a
+         * request is scheduled separately. <br>
+         * By default, requests are sent as soon as they are made.
+         * 
+         * @param  scheduler the scheduler, or {@code null} to not schedule requests
+         * @return           the builder instance, for chaining purposes
+         */
+        public Builder scheduler(@Nullable PriorityScheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Sets whether virtual threads should be used for the work of the API, so
+         * that a large amount of concurrent blocking requests do not need as many
+         * platform threads: <br>
+         * - the default {@link java.net.http.HttpClient} completes exchanges on
+         * virtual threads, see {@link CurseForgeAPI#VIRTUAL_THREAD_HTTP_CLIENT_FACTORY};
+         * <br>
+         * - the delayed work of the API, such as retries and hedges, runs on
+         * virtual threads; <br>
+         * - the suppliers made with {@link CurseForgeAPI#supplyAsync(Supplier)},
+         * which usually make blocking requests, run on virtual threads. <br>
+         * Blocking requests wait without pinning their thread, so any amount of
+         * them can be made at once from virtual threads. <br>
+         * Only this instance is affected: the suppliers of
+         * {@link AsyncRequest#of(Supplier)} are run on virtual threads with
+         * {@link AsyncRequestValues#setUseVirtualThreads(boolean)}. <br>
+         * By default, virtual threads are not used.
+         * 
+         * @param  virtualThreads                whether to use virtual threads
+         * @return                               the builder instance, for chaining
+         *                                       purposes
+         * @throws UnsupportedOperationException if the runtime does not support
+         *                                       virtual threads
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            if (virtualThreads && !AsyncRequestValues.isVirtualThreadsSupported()) {
+                throw new UnsupportedOperationException("Virtual threads are not supported by this runtime!");
+            }
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
         /**
          * Builds the {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI} based on
          * the configurations of this Builder.
@@ -604,7 +1592,7 @@ public class CurseForgeAPI {
          *                        but invalid
          */
         public CurseForgeAPI build() throws LoginException {
-            final var api = new CurseForgeAPI(apiKey, uploadApiToken, httpClient.get(), gson, logger);
+            final var api = new CurseForgeAPI(this);
             if (apiKey != null && !api.isAuthorized())  throw new LoginException("The apiKey provided is invalid.");
             if (uploadApiToken != null && !api.isAuthorizedForUpload()) {
                 throw new LoginException("The uploadApiToken provided is invalid.");
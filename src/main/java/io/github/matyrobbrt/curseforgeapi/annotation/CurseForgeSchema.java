@@ -37,7 +37,9 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
 /**
  * Classes annotated with this annotation are schemas for use with the CurseForg
  * API. <br>
- * <strong>This annotation is PURELY visual.</strong>
+ * At compile time, a reflection-free type adapter is generated for each
+ * annotated record, and registered through a
+ * {@link io.github.matyrobbrt.curseforgeapi.util.gson.SchemaTypeAdapterFactory}.
  */
 @Documented
 @Retention(SOURCE)
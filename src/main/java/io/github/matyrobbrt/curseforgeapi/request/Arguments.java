@@ -25,91 +25,204 @@
  * SOFTWARE.
  */
 
+
 package io.github.matyrobbrt.curseforgeapi.request;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 
 /**
  * A list of keys and values for specifying arguments when send a request to
- * CurseForge.
+ * CurseForge. <br>
+ * Arguments keep their insertion order, and are URL-encoded as they are put,
+ * so {@link #build()} always produces the same query string for the same
+ * arguments, which can be used as a cache key. <br>
+ * {@link #put(String, Object)} encodes the keys and values it is given, so
+ * arguments which are already encoded must be put with
+ * {@link #putRaw(String, Object)} instead, or they would be encoded twice.
  * 
  * @author matyrobbrt
  *
  */
 public class Arguments {
 
-    public static final Arguments EMPTY = new Arguments(new HashMap<>()).immutable();
+    public static final Arguments EMPTY = new Arguments(0).immutable();
 
     public static Arguments of(String key, Object value) {
-        return new Arguments(new HashMap<>()).put(key, value);
+        return new Arguments(4).put(key, value);
     }
 
-    final Map<String, String> args;
+    String[] keys;
+    String[] values;
+    int size;
+    /**
+     * The length of the built query string.
+     */
+    int length;
+    @Nullable
+    private String built;
+
+    Arguments(int capacity) {
+        this.keys = new String[capacity];
+        this.values = new String[capacity];
+    }
 
-    Arguments(Map<String, String> args) {
-        this.args = args;
+    Arguments(Arguments other, int extraCapacity) {
+        this.keys = Arrays.copyOf(other.keys, other.size + extraCapacity);
+        this.values = Arrays.copyOf(other.values, other.size + extraCapacity);
+        this.size = other.size;
+        this.length = other.length;
+        this.built = other.built;
     }
 
+    /**
+     * Puts an argument, replacing the value of the {@code key} if it is already
+     * present. {@code null} values are skipped. <br>
+     * The key and the {@link Object#toString() string value} are URL-encoded
+     * using UTF-8 (so {@code "a b&c"} becomes {@code "a+b%26c"}), except for
+     * numbers, which are put as they are. Values which are already encoded
+     * should be put with {@link #putRaw(String, Object)}.
+     * 
+     * @param  key   the key of the argument, which will be URL-encoded
+     * @param  value the value of the argument, which will be URL-encoded
+     * @return       the arguments, for chaining purposes
+     */
     public Arguments put(String key, @Nullable Object value) {
         if (value != null) {
-            args.put(key, value.toString());
+            putEncoded(encode(key), value instanceof Number ? value.toString() : encode(value.toString()));
+        }
+        return this;
+    }
+
+    /**
+     * Puts an argument whose key and value are already URL-encoded, replacing
+     * the value of the {@code key} if it is already present. {@code null} values
+     * are skipped. <br>
+     * The key and the {@link Object#toString() string value} are added to the
+     * query string as they are, so they must not contain unencoded reserved
+     * characters, such as {@code &}, {@code =}, {@code #} or spaces.
+     * 
+     * @param  key   the URL-encoded key of the argument
+     * @param  value the URL-encoded value of the argument
+     * @return       the arguments, for chaining purposes
+     */
+    public Arguments putRaw(String key, @Nullable Object value) {
+        if (value != null) {
+            putEncoded(key, value.toString());
         }
         return this;
     }
-    
+
+    void putEncoded(String key, String value) {
+        built = null;
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                length += value.length() - values[i].length();
+                values[i] = value;
+                return;
+            }
+        }
+        if (size == keys.length) {
+            final int newCapacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        // The separator, the key, the equals sign and the value
+        length += (size == 0 ? 0 : 1) + key.length() + 1 + value.length();
+        size++;
+    }
+
     public Arguments copy() {
-        return new Arguments(new HashMap<>(args));
+        return new Arguments(this, 0);
     }
-    
+
     public Arguments putAll(@Nullable Arguments other) {
         if (other == null) {
             return this;
         }
-        args.putAll(other.args);
+        for (int i = 0; i < other.size; i++) {
+            putEncoded(other.keys[i], other.values[i]);
+        }
         return this;
     }
 
+    /**
+     * @return if there are no arguments
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends the query string of these arguments to the {@code builder}.
+     * 
+     * @param  builder the builder to append to
+     * @return         the {@code builder}
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        if (built != null) {
+            return builder.append(built);
+        }
+        builder.ensureCapacity(builder.length() + length);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append('&');
+            }
+            builder.append(keys[i]).append('=').append(values[i]);
+        }
+        return builder;
+    }
+
     public String build() {
-        return String.join("&", args.entrySet().stream().map(e -> "%s=%s".formatted(e.getKey(), e.getValue())).toArray(String[]::new));
+        if (built == null) {
+            built = appendTo(new StringBuilder(length)).toString();
+        }
+        return built;
     }
 
     @Override
     public String toString() {
         return build();
     }
-    
+
     public Arguments immutable() {
-        return new Immutable(args);
+        return new Immutable(this);
     }
-    
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
     private static final class Immutable extends Arguments {
 
-        Immutable(Map<String, String> args) {
-            super(Map.copyOf(args));
+        Immutable(Arguments args) {
+            super(args, 0);
         }
-        
+
         @Override
-        public Arguments put(String key, Object value) {
-            final var newArgs = new HashMap<>(args);
-            if (value == null) {
-                return new Arguments(newArgs);
-            }
-            newArgs.put(key, value.toString());
-            return new Arguments(newArgs);
+        public Arguments put(String key, @Nullable Object value) {
+            return new Arguments(this, 4).put(key, value);
         }
-        
+
+        @Override
+        public Arguments putRaw(String key, @Nullable Object value) {
+            return new Arguments(this, 4).putRaw(key, value);
+        }
+
         @Override
         public Arguments putAll(@Nullable Arguments other) {
-            final var newArgs = new HashMap<>(args);
-            if (other == null) {
-                return new Arguments(newArgs);
-            }
-            newArgs.putAll(other.args);
-            return new Arguments(newArgs);
+            return new Arguments(this, other == null ? 0 : other.size).putAll(other);
         }
-        
+
+        @Override
+        void putEncoded(String key, String value) {
+            throw new UnsupportedOperationException();
+        }
+
     }
 }
@@ -27,8 +27,12 @@
 
 package io.github.matyrobbrt.curseforgeapi.request;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -40,6 +44,7 @@ import org.slf4j.LoggerFactory;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.async.AllOfAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.AsyncRequestValues;
 import io.github.matyrobbrt.curseforgeapi.request.async.EmptyAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.FlatMapAsyncRequest;
@@ -47,6 +52,7 @@ import io.github.matyrobbrt.curseforgeapi.request.async.MapAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.OfCompletableFutureAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.OfValueAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.PairAsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.async.TimeoutAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.WithExceptionAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.util.ExceptionFunction;
 
@@ -89,14 +95,28 @@ public interface AsyncRequest<T> {
 
     /**
      * Makes an {@link AsyncRequest} with the result asynchronously supplied by the
-     * {@code supplier}.
+     * {@code supplier}, on the {@link AsyncRequestValues#getFutureExecutor() future
+     * executor}.
      * 
      * @param  <T>      the type of the request
      * @param  supplier the supplier which supplies the value
      * @return          the request
      */
     public static <T> AsyncRequest<T> of(@Nonnull Supplier<T> supplier) {
-        return new OfCompletableFutureAsyncRequest<>(CompletableFuture.supplyAsync(supplier));
+        return of(supplier, AsyncRequestValues.getFutureExecutor());
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} with the result asynchronously supplied by the
+     * {@code supplier}, on the given {@code executor}.
+     * 
+     * @param  <T>      the type of the request
+     * @param  supplier the supplier which supplies the value
+     * @param  executor the executor to run the supplier on
+     * @return          the request
+     */
+    public static <T> AsyncRequest<T> of(@Nonnull Supplier<T> supplier, @Nonnull Executor executor) {
+        return new OfCompletableFutureAsyncRequest<>(CompletableFuture.supplyAsync(supplier, executor));
     }
 
     /**
@@ -134,6 +154,38 @@ public interface AsyncRequest<T> {
         return (AsyncRequest<T>) EmptyAsyncRequest.INSTANCE;
     }
 
+    /**
+     * Makes an {@link AsyncRequest} which runs all the {@code requests} at the
+     * same time, and completes with their results, in order. The request fails
+     * with the first failure of any of the {@code requests}.
+     * 
+     * @param  <T>      the type of the requests
+     * @param  requests the requests to run
+     * @return          the request
+     */
+    @SafeVarargs
+    public static <T> AsyncRequest<List<T>> all(@Nonnull AsyncRequest<? extends T>... requests) {
+        // The array isn't passed on, so that it can't be polluted
+        final var list = new ArrayList<AsyncRequest<? extends T>>(requests.length);
+        for (final var request : requests) {
+            list.add(request);
+        }
+        return allOf(list);
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} which runs all the {@code requests} at the
+     * same time, and completes with their results, in order. The request fails
+     * with the first failure of any of the {@code requests}.
+     * 
+     * @param  <T>      the type of the requests
+     * @param  requests the requests to run
+     * @return          the request
+     */
+    public static <T> AsyncRequest<List<T>> allOf(@Nonnull List<? extends AsyncRequest<? extends T>> requests) {
+        return new AllOfAsyncRequest<>(List.copyOf(requests));
+    }
+
     /**
      * Maps this request
      * 
@@ -207,7 +259,8 @@ public interface AsyncRequest<T> {
     }
 
     /**
-     * Merges this request with the {@code other} one.
+     * Merges this request with the {@code other} one. When queued, both requests
+     * are run at the same time.
      * 
      * @param  <U>   the type of the other request
      * @param  other the request to merge with
@@ -218,6 +271,65 @@ public interface AsyncRequest<T> {
         return new PairAsyncRequest<>(this, Objects.requireNonNull(other));
     }
 
+    /**
+     * Makes this request time out: if it doesn't complete within the
+     * {@code timeout}, it is {@link #cancel() cancelled}, and fails with a
+     * {@link java.util.concurrent.TimeoutException}.
+     * 
+     * @param  timeout the timeout of the request
+     * @return         the request
+     */
+    @Nonnull
+    default AsyncRequest<T> timeout(@Nonnull Duration timeout) {
+        return new TimeoutAsyncRequest<>(this, Objects.requireNonNull(timeout));
+    }
+
+    /**
+     * Cancels this request, and the requests it depends on. The HTTP exchanges
+     * which are still in flight are aborted, and the requests which wait for a
+     * rate limit permit are not sent anymore. <br>
+     * A cancelled request fails with a
+     * {@link java.util.concurrent.CancellationException}.
+     * 
+     * @return if any work was cancelled, {@code false} if the request had already
+     *         completed, or cannot be cancelled
+     */
+    default boolean cancel() {
+        return false;
+    }
+
+    /**
+     * Converts this request into a {@link CompletableFuture}, which is completed
+     * by the thread completing the request (usually the completion thread of the
+     * HTTP client), without blocking or hopping through another executor. <br>
+     * Cancelling the returned future {@link #cancel() cancels} this request.
+     * 
+     * @return the future
+     */
+    @Nonnull
+    default CompletableFuture<T> toCompletableFuture() {
+        final var future = new CompletableFuture<T>();
+        queue(future::complete, future::completeExceptionally);
+        future.whenComplete((result, t) -> {
+            if (future.isCancelled()) {
+                cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Converts this request into a {@link CompletionStage}, which cannot be
+     * completed by its consumers.
+     * 
+     * @return the stage
+     * @see    #toCompletableFuture()
+     */
+    @Nonnull
+    default CompletionStage<T> asStage() {
+        return toCompletableFuture().minimalCompletionStage();
+    }
+
     /**
      * Completes this request by blocking the current thread until the value is
      * returned, and then returning it.
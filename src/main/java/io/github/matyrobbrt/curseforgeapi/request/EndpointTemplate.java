@@ -0,0 +1,170 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.matyrobbrt.curseforgeapi.request;
+
+import java.util.ArrayList;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A pre-parsed endpoint, whose {@code {}} placeholders are filled with integer
+ * path segments, such as ids. <br>
+ * The template is split into its literal parts only once, when compiled, so
+ * expanding it only appends the parts and the values to a presized
+ * {@link StringBuilder}.
+ * 
+ * <pre>
+ * {@code
+ * private static final EndpointTemplate MOD_FILE = EndpointTemplate.compile("/v1/mods/{}/files/{}");
+ * 
+ * MOD_FILE.expand(modId, fileId); // "/v1/mods/<modId>/files/<fileId>"
+ * }
+ * </pre>
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class EndpointTemplate {
+
+    private static final String PLACEHOLDER = "{}";
+    /**
+     * The maximum length of an {@code int}, including its sign.
+     */
+    private static final int MAX_INT_LENGTH = 11;
+
+    private final String template;
+    private final String[] parts;
+    private final int capacity;
+
+    private EndpointTemplate(String template, String[] parts) {
+        this.template = template;
+        this.parts = parts;
+        int length = 0;
+        for (final var part : parts) {
+            length += part.length();
+        }
+        this.capacity = length + (parts.length - 1) * MAX_INT_LENGTH;
+    }
+
+    /**
+     * Compiles the {@code template}.
+     * 
+     * @param  template the template, with a {@code {}} for each value
+     * @return          the compiled template
+     */
+    public static EndpointTemplate compile(String template) {
+        final var parts = new ArrayList<String>();
+        int start = 0;
+        int index;
+        while ((index = template.indexOf(PLACEHOLDER, start)) != -1) {
+            parts.add(template.substring(start, index));
+            start = index + PLACEHOLDER.length();
+        }
+        parts.add(template.substring(start));
+        return new EndpointTemplate(template, parts.toArray(String[]::new));
+    }
+
+    /**
+     * @return the amount of values this template expects
+     */
+    public int getValueCount() {
+        return parts.length - 1;
+    }
+
+    /**
+     * Expands this template.
+     * 
+     * @param  value the value of the placeholder
+     * @return       the endpoint
+     */
+    public String expand(int value) {
+        checkValueCount(1);
+        return new StringBuilder(capacity).append(parts[0]).append(value).append(parts[1]).toString();
+    }
+
+    /**
+     * Expands this template.
+     * 
+     * @param  first  the value of the first placeholder
+     * @param  second the value of the second placeholder
+     * @return        the endpoint
+     */
+    public String expand(int first, int second) {
+        checkValueCount(2);
+        return new StringBuilder(capacity).append(parts[0]).append(first).append(parts[1]).append(second)
+            .append(parts[2]).toString();
+    }
+
+    /**
+     * Expands this template, appending the {@code args} as its query string, if
+     * there are any.
+     * 
+     * @param  value the value of the placeholder
+     * @param  args  the arguments of the query string
+     * @return       the endpoint
+     */
+    public String expand(int value, @Nullable Arguments args) {
+        checkValueCount(1);
+        if (args == null || args.isEmpty()) {
+            return expand(value);
+        }
+        final var builder = new StringBuilder(capacity + 1 + args.length).append(parts[0]).append(value)
+            .append(parts[1]).append('?');
+        return args.appendTo(builder).toString();
+    }
+
+    /**
+     * Expands this template.
+     * 
+     * @param  values the values of the placeholders, in order
+     * @return        the endpoint
+     */
+    public String expand(int... values) {
+        checkValueCount(values.length);
+        final var builder = new StringBuilder(capacity).append(parts[0]);
+        for (int i = 0; i < values.length; i++) {
+            builder.append(values[i]).append(parts[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    private void checkValueCount(int count) {
+        if (count != parts.length - 1) {
+            throw new IllegalArgumentException("Endpoint template '%s' expects %s values, but got %s"
+                .formatted(template, parts.length - 1, count));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -27,6 +27,8 @@
 
 package io.github.matyrobbrt.curseforgeapi.request;
 
+import java.util.Objects;
+
 import com.google.gson.JsonElement;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
@@ -36,15 +38,21 @@ public class GenericRequest {
     private final Method method;
     @Nullable
     private final JsonElement body;
+    private final Priority priority;
     
     public GenericRequest(String endpoint, Method method) {
         this(endpoint, method, null);
     }
     
     public GenericRequest(String endpoint, Method method, @Nullable JsonElement body) {
+        this(endpoint, method, body, Priority.INTERACTIVE);
+    }
+
+    public GenericRequest(String endpoint, Method method, @Nullable JsonElement body, Priority priority) {
         this.endpoint = endpoint;
         this.method = method;
         this.body = body;
+        this.priority = Objects.requireNonNull(priority);
     }
 
     public Method method() {
@@ -59,4 +67,29 @@ public class GenericRequest {
     public JsonElement body() {
         return body;
     }
+
+    /**
+     * @return the priority with which this request is dispatched
+     */
+    public Priority priority() {
+        return priority;
+    }
+
+    /**
+     * Two requests are equal if their method, endpoint and body are equal,
+     * regardless of how their responses are decoded, or of their priority.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof GenericRequest other && method == other.method && endpoint.equals(other.endpoint)
+            && Objects.equals(body, other.body);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(method, endpoint, body);
+    }
 }
\ No newline at end of file
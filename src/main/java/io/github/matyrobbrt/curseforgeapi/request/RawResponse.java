@@ -0,0 +1,94 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+
+/**
+ * The status code and the undecoded body of an API response. <br>
+ * The body is kept as received, so if it is compressed, it is only
+ * decompressed while being read through {@link #openBody()}.
+ * 
+ * @author matyrobbrt
+ *
+ * @param statusCode      the status code of the response
+ * @param body            the body of the response, as received
+ * @param contentEncoding the {@code Content-Encoding} of the body, or
+ *                        {@code null} if it is not encoded
+ */
+public record RawResponse(int statusCode, byte[] body, @Nullable String contentEncoding) {
+
+    /**
+     * The encodings of responses which can be decoded, in the format of the
+     * {@code Accept-Encoding} header.
+     */
+    public static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
+    public RawResponse(int statusCode, byte[] body) {
+        this(statusCode, body, null);
+    }
+
+    /**
+     * Opens a stream of the body of this response, which decompresses it on the
+     * fly, according to its {@link #contentEncoding()}.
+     * 
+     * @return             the stream of the decoded body
+     * @throws IOException if the body uses an unsupported encoding
+     */
+    public InputStream openBody() throws IOException {
+        final var stream = new ByteArrayInputStream(body);
+        if (contentEncoding == null) {
+            return stream;
+        }
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+        case "", "identity" -> stream;
+        case "gzip", "x-gzip" -> new GZIPInputStream(stream, 8192);
+        // Deflate should be zlib-wrapped, but some servers send raw deflate data
+        case "deflate" -> new InflaterInputStream(stream, new Inflater(!isZlibWrapped()), 8192);
+        default -> throw new IOException("Unsupported response encoding: " + contentEncoding);
+        };
+    }
+
+    private boolean isZlibWrapped() {
+        if (body.length < 2) {
+            return false;
+        }
+        final var cmf = body[0] & 0xFF;
+        final var flg = body[1] & 0xFF;
+        return (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+    }
+
+}
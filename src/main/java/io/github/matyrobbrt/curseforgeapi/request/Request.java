@@ -27,23 +27,31 @@
 
 package io.github.matyrobbrt.curseforgeapi.request;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.util.function.BiFunction;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
 
 @ParametersAreNonnullByDefault
 public class Request<R> extends GenericRequest {
 
     private final BiFunction<Gson, JsonObject, R> responseDecoder;
+    @Nullable
+    private final ResponseReader<R> responseReader;
 
     public Request(String endpoint, Method method, JsonElement body, BiFunction<Gson, JsonObject, R> responseDecoder) {
-        super(endpoint, method, body);
-        this.responseDecoder = responseDecoder;
+        this(endpoint, method, body, responseDecoder, null);
     }
     
     public Request(String endpoint, Method method, BiFunction<Gson, JsonObject, R> responseDecoder) {
@@ -59,14 +67,122 @@ public class Request<R> extends GenericRequest {
             }
             return g.fromJson(dataElement.isJsonArray() ? dataElement.getAsJsonArray() : dataElement.getAsJsonObject(), type);
         };
+        this.responseReader = (g, reader) -> readMember(g, reader, responseObjectName, type);
     }
     
     public Request(String endpoint, Method method, String responseObjectName, Type type) {
         this(endpoint, method, null, responseObjectName, type);
     }
 
+    private Request(String endpoint, Method method, @Nullable JsonElement body,
+        BiFunction<Gson, JsonObject, R> responseDecoder, @Nullable ResponseReader<R> responseReader) {
+        this(endpoint, method, body, Priority.INTERACTIVE, responseDecoder, responseReader);
+    }
+
+    private Request(String endpoint, Method method, @Nullable JsonElement body, Priority priority,
+        BiFunction<Gson, JsonObject, R> responseDecoder, @Nullable ResponseReader<R> responseReader) {
+        super(endpoint, method, body, priority);
+        this.responseDecoder = responseDecoder;
+        this.responseReader = responseReader;
+    }
+
+    /**
+     * Creates a copy of this request, which is dispatched with the given
+     * {@code priority}.
+     * 
+     * @param  priority the priority of the request
+     * @return          the request
+     */
+    public Request<R> withPriority(Priority priority) {
+        return new Request<>(endpoint(), method(), body(), priority, responseDecoder, responseReader);
+    }
+
+    /**
+     * Creates a request whose response is decoded directly from the response
+     * stream, without building an intermediary {@link JsonObject}.
+     * 
+     * @param  <R>            the type of the request result
+     * @param  endpoint       the endpoint of the request
+     * @param  method         the method of the request
+     * @param  body           the body of the request
+     * @param  responseReader the reader used for decoding the response
+     * @return                the request
+     */
+    public static <R> Request<R> ofReader(String endpoint, Method method, @Nullable JsonElement body,
+        ResponseReader<R> responseReader) {
+        return new Request<>(endpoint, method, body, (g, j) -> {
+            try (final var reader = new JsonReader(new StringReader(j.toString()))) {
+                return responseReader.read(g, reader);
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
+        }, responseReader);
+    }
+
     public R decodeResponse(Gson gson, JsonObject response) {
         return responseDecoder.apply(gson, response);
     }
 
+    /**
+     * Decodes the response of this request from the given {@code reader}. If this
+     * request has no {@link ResponseReader}, the response is read into a
+     * {@link JsonObject} which is then decoded using
+     * {@link #decodeResponse(Gson, JsonObject)}.
+     * 
+     * @param  gson        the gson to use for decoding
+     * @param  reader      the reader of the response
+     * @return             the decoded response
+     * @throws IOException if an exception occurs while reading the response
+     */
+    public R decodeResponse(Gson gson, JsonReader reader) throws IOException {
+        if (responseReader == null) {
+            return decodeResponse(gson, JsonParser.parseReader(reader).getAsJsonObject());
+        }
+        return responseReader.read(gson, reader);
+    }
+
+    /**
+     * Reads the member with the specified {@code name} of the JSON object the
+     * {@code reader} is positioned at, skipping all the other members.
+     * 
+     * @param  <T>         the type of the member
+     * @param  gson        the gson to use for decoding the member
+     * @param  reader      the reader
+     * @param  name        the name of the member to decode
+     * @param  type        the type of the member
+     * @return             the decoded member, or {@code null} if it is not
+     *                     present
+     * @throws IOException if an exception occurs while reading
+     */
+    @Nullable
+    public static <T> T readMember(Gson gson, JsonReader reader, String name, Type type) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        T value = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (name.equals(reader.nextName())) {
+                value = gson.fromJson(reader, type);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    /**
+     * A function which decodes a response directly from a {@link JsonReader}.
+     *
+     * @param <R> the type of the decoded response
+     */
+    @FunctionalInterface
+    public interface ResponseReader<R> {
+
+        R read(Gson gson, JsonReader reader) throws IOException;
+
+    }
+
 }
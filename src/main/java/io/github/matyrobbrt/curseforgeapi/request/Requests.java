@@ -65,6 +65,18 @@ import io.github.matyrobbrt.curseforgeapi.schemas.mod.Mod;
 @ParametersAreNonnullByDefault
 public final class Requests {
 
+    private static final EndpointTemplate GAME_VERSIONS = EndpointTemplate.compile("/v1/games/{}/versions");
+    private static final EndpointTemplate GAME_VERSION_TYPES = EndpointTemplate.compile("/v1/games/{}/version-types");
+    private static final EndpointTemplate CATEGORIES_OF_CLASS = EndpointTemplate
+        .compile("/v1/categories?gameId={}&classId={}");
+    private static final EndpointTemplate MOD_DESCRIPTION = EndpointTemplate.compile("/v1/mods/{}/description");
+    private static final EndpointTemplate MOD_FILES = EndpointTemplate.compile("/v1/mods/{}/files");
+    private static final EndpointTemplate MOD_FILE = EndpointTemplate.compile("/v1/mods/{}/files/{}");
+    private static final EndpointTemplate MOD_FILE_CHANGELOG = EndpointTemplate
+        .compile("/v1/mods/{}/files/{}/changelog");
+    private static final EndpointTemplate MOD_FILE_DOWNLOAD_URL = EndpointTemplate
+        .compile("/v1/mods/{}/files/{}/download-url");
+
     /**********************************
      * 
      * Games
@@ -110,7 +122,7 @@ public final class Requests {
      * @return        the request
      */
     public static Request<List<GameVersionsByType>> getGameVersions(int gameId) {
-        return new Request<>("/v1/games/%s/versions".formatted(gameId), Method.GET, "data",
+        return new Request<>(GAME_VERSIONS.expand(gameId), Method.GET, "data",
             Types.GAME_VERSIONS_BY_TYPE_LIST);
     }
 
@@ -129,7 +141,7 @@ public final class Requests {
      * @return        the request
      */
     public static Request<List<GameVersionType>> getGameVersionTypes(int gameId) {
-        return new Request<>("/v1/games/%s/version-types".formatted(gameId), Method.GET, "data",
+        return new Request<>(GAME_VERSION_TYPES.expand(gameId), Method.GET, "data",
             Types.GAME_VERSION_TYPE_LIST);
     }
 
@@ -158,7 +170,7 @@ public final class Requests {
      * @return         the request
      */
     public static Request<List<Category>> getCategories(int gameId, int classId) {
-        return new Request<>("/v1/categories?gameId=%s&classId=%s".formatted(gameId, classId), Method.GET, "data",
+        return new Request<>(CATEGORIES_OF_CLASS.expand(gameId, classId), Method.GET, "data",
             Types.CATEGORY_LIST);
     }
 
@@ -178,6 +190,22 @@ public final class Requests {
         return new Request<>("/v1/mods/" + modId, Method.GET, "data", Types.MOD);
     }
 
+    /**
+     * Get a list of mods belonging to the same game.
+     * 
+     * @param  modIds the ids of the mods to get
+     * @return        the request
+     */
+    public static Request<List<Mod>> getMods(int... modIds) {
+        final var body = new JsonObject();
+        final var array = new JsonArray();
+        for (final var id : modIds) {
+            array.add(id);
+        }
+        body.add("modIds", array);
+        return new Request<>("/v1/mods", Method.POST, body, "data", Types.MOD_LIST);
+    }
+
     /**
      * Get the description of the mod with the specified ID in the HTML format.
      * 
@@ -186,7 +214,7 @@ public final class Requests {
      * @return       the request
      */
     public static Request<String> getModDescription(int modId) {
-        return new Request<>("/v1/mods/%s/description".formatted(modId), Method.GET, "data", Types.STRING);
+        return new Request<>(MOD_DESCRIPTION.expand(modId), Method.GET, "data", Types.STRING);
     }
 
     /**
@@ -207,7 +235,8 @@ public final class Requests {
      * @return       the request
      */
     public static Request<PaginatedData<List<Mod>>> searchModsPaginated(ModSearchQuery query) {
-        return new Request<>(format("/v1/mods/search", query.toArgs()), Method.GET, (g, j) -> PaginatedData.fromJson(g, j, Types.MOD_LIST));
+        return Request.ofReader(format("/v1/mods/search", query.toArgs()), Method.GET, null,
+            (g, r) -> PaginatedData.fromJson(g, r, Types.MOD_LIST));
     }
 
 
@@ -235,7 +264,7 @@ public final class Requests {
      * @return        the request
      */
     public static Request<File> getModFile(int modId, int fileId) {
-        return new Request<>("/v1/mods/%s/files/%s".formatted(modId, fileId), Method.GET, "data", Types.FILE);
+        return new Request<>(MOD_FILE.expand(modId, fileId), Method.GET, "data", Types.FILE);
     }
 
     /**
@@ -269,12 +298,28 @@ public final class Requests {
     public static Request<List<File>> getModFiles(int modId, @Nullable Integer gameVersionTypeId,
         @Nullable PaginationQuery paginationQuery) {
         return new Request<>(
-            format("/v1/mods/%s/files".formatted(modId),
-                Arguments.EMPTY.put("gameVersionTypeId", gameVersionTypeId)
-                    .putAll(paginationQuery == null ? null : paginationQuery.toArgs())),
+            MOD_FILES.expand(modId, Arguments.EMPTY.put("gameVersionTypeId", gameVersionTypeId)
+                .putAll(paginationQuery == null ? null : paginationQuery.toArgs())),
             Method.GET, "data", Types.FILE_LIST);
     }
 
+    /**
+     * Get the files of the specified mod. <br>
+     * This request provides the {@link Pagination} as well.
+     * 
+     * @param  modId             the mod id the files belong to (project id)
+     * @param  gameVersionTypeId the game version to search for
+     * @param  paginationQuery   the pagination query used for the request
+     * @return                   the request
+     */
+    public static Request<PaginatedData<List<File>>> getModFilesPaginated(int modId,
+        @Nullable Integer gameVersionTypeId, @Nullable PaginationQuery paginationQuery) {
+        return Request.ofReader(
+            MOD_FILES.expand(modId, Arguments.EMPTY.put("gameVersionTypeId", gameVersionTypeId)
+                .putAll(paginationQuery == null ? null : paginationQuery.toArgs())),
+            Method.GET, null, (g, r) -> PaginatedData.fromJson(g, r, Types.FILE_LIST));
+    }
+
     /**
      * Get a list of files.
      * 
@@ -299,7 +344,7 @@ public final class Requests {
      * @return        the request
      */
     public static Request<String> getModFileChangelog(int modId, int fileId) {
-        return new Request<>("/v1/mods/%s/files/%s/changelog".formatted(modId, fileId), Method.GET, "data",
+        return new Request<>(MOD_FILE_CHANGELOG.expand(modId, fileId), Method.GET, "data",
             Types.STRING);
     }
 
@@ -311,7 +356,7 @@ public final class Requests {
      * @return        the request
      */
     public static Request<String> getModFileDownloadURL(int modId, int fileId) {
-        return new Request<>("/v1/mods/%s/files/%s/download-url".formatted(modId, fileId), Method.GET, "data",
+        return new Request<>(MOD_FILE_DOWNLOAD_URL.expand(modId, fileId), Method.GET, "data",
             Types.STRING);
     }
 
@@ -355,8 +400,8 @@ public final class Requests {
     }
 
     public static String format(String str, @Nullable Arguments args) {
-        if (args == null) { return str; }
-        return str + "?" + args.build();
+        if (args == null || args.isEmpty()) { return str; }
+        return args.appendTo(new StringBuilder(str.length() + 1 + args.length).append(str).append('?')).toString();
     }
 
     //@formatter:off
@@ -0,0 +1,79 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.async;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.util.Utils;
+
+/**
+ * A request which runs all of its requests at the same time, and joins their
+ * results in a list.
+ */
+public record AllOfAsyncRequest<T> (List<? extends AsyncRequest<? extends T>> requests) implements AsyncRequest<List<T>> {
+
+    @Override
+    public List<T> get() throws InterruptedException, ExecutionException {
+        return toList(AsyncJoin.getAll(requests));
+    }
+
+    @Override
+    public boolean cancel() {
+        boolean cancelled = false;
+        for (final var request : requests) {
+            cancelled |= request.cancel();
+        }
+        return cancelled;
+    }
+
+    @Override
+    public CompletableFuture<List<T>> toCompletableFuture() {
+        final var joined = AsyncJoin.joinAll(requests);
+        return Utils.propagateCancellation(joined.thenApply(AllOfAsyncRequest::<T>toList), joined);
+    }
+
+    @Override
+    public void queue(Consumer<? super List<T>> onSuccess, Consumer<? super Throwable> onFailure) {
+        AsyncJoin.queueAll(requests, results -> {
+            if (onSuccess != null) {
+                onSuccess.accept(toList(results));
+            }
+        }, onFailure);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> toList(Object[] results) {
+        return Collections.unmodifiableList(Arrays.asList((T[]) results));
+    }
+}
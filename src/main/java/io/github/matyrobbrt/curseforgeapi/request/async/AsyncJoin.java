@@ -0,0 +1,110 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.async;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+
+/**
+ * Joins the results of multiple requests which are run at the same time.
+ */
+final class AsyncJoin {
+
+    private AsyncJoin() {}
+
+    /**
+     * Runs all the {@code requests} at once, and joins their results. <br>
+     * The returned future completes with the results of the requests, in order,
+     * when all of them succeed, or fails with the first failure. Cancelling it
+     * cancels all the requests.
+     */
+    static CompletableFuture<Object[]> joinAll(List<? extends AsyncRequest<?>> requests) {
+        final var size = requests.size();
+        final var futures = new CompletableFuture<?>[size];
+        final var result = new CompletableFuture<Object[]>();
+        for (int i = 0; i < size; i++) {
+            final var future = requests.get(i).toCompletableFuture();
+            futures[i] = future;
+            future.whenComplete((r, t) -> {
+                if (t != null) {
+                    result.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).thenRun(() -> {
+            final var results = new Object[size];
+            for (int i = 0; i < size; i++) {
+                results[i] = futures[i].join();
+            }
+            result.complete(results);
+        });
+        result.whenComplete((r, t) -> {
+            if (result.isCancelled()) {
+                for (final var future : futures) {
+                    future.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Queues all the {@code requests} at once. The {@code onSuccess} callback is
+     * invoked with the results of the requests, in order, when all of them
+     * succeed. The {@code onFailure} callback is invoked once, with the first
+     * failure.
+     */
+    static void queueAll(List<? extends AsyncRequest<?>> requests, Consumer<Object[]> onSuccess,
+        @Nullable Consumer<? super Throwable> onFailure) {
+        joinAll(requests).whenComplete((results, t) -> {
+            if (t == null) {
+                onSuccess.accept(results);
+            } else if (onFailure == null) {
+                AsyncRequestValues.defaultFailure.accept(t);
+            } else {
+                onFailure.accept(t);
+            }
+        });
+    }
+
+    /**
+     * Blocks until all the {@code requests} complete. The requests are awaited
+     * through their futures, so no thread other than the caller's is blocked.
+     * 
+     * @return the results of the requests, in order
+     */
+    static Object[] getAll(List<? extends AsyncRequest<?>> requests) throws InterruptedException, ExecutionException {
+        return joinAll(requests).get();
+    }
+}
@@ -27,22 +27,59 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 
 import static io.github.matyrobbrt.curseforgeapi.request.AsyncRequest.LOGGER;
 
 public class AsyncRequestValues {
 
+    /**
+     * The executor which starts a virtual thread for each task, or {@code null} if
+     * virtual threads are not supported by the runtime. <br>
+     * The library targets Java 17, so the executor is looked up reflectively.
+     */
+    @Nullable
+    private static final ExecutorService VIRTUAL_THREAD_EXECUTOR = makeVirtualThreadExecutor();
+
+    private static final Executor DEFAULT_FUTURE_EXECUTOR = makeDefaultExecutor();
+
+    /**
+     * The scheduler of the delayed work of the library, such as timeouts,
+     * retries and rate limit delays.
+     */
+    private static final ScheduledThreadPoolExecutor SCHEDULER = makeScheduler();
+
+    /**
+     * The executor of async suppliers. By default, a pool of daemon threads which
+     * grows with the amount of running suppliers, and releases the threads which
+     * are idle for a minute. <br>
+     * Each running supplier holds a platform thread, so thousands of concurrent
+     * suppliers are better run on {@link #setUseVirtualThreads(boolean) virtual
+     * threads}, where supported.
+     */
     @Nonnull
-    static Executor futureExecutor = Executors
-        .newSingleThreadExecutor(r -> new Thread(r, "AsyncRequestHandler"));
+    static volatile Executor futureExecutor = DEFAULT_FUTURE_EXECUTOR;
+
+    static volatile boolean useVirtualThreads;
 
     static Consumer<? super Throwable> defaultFailure = t -> {
         if (t instanceof CancellationException || t instanceof TimeoutException)
@@ -71,6 +108,122 @@ public class AsyncRequestValues {
 
     public static void setFutureExecutor(@Nonnull Executor executor) {
         futureExecutor = Objects.requireNonNull(executor);
+        useVirtualThreads = executor == VIRTUAL_THREAD_EXECUTOR;
+    }
+
+    /**
+     * @return the executor used for running the suppliers of
+     *         {@link io.github.matyrobbrt.curseforgeapi.request.AsyncRequest#of(java.util.function.Supplier)
+     *         async requests}
+     */
+    @Nonnull
+    public static Executor getFutureExecutor() {
+        return futureExecutor;
+    }
+
+    /**
+     * Gets the scheduler shared by the library for running delayed work, such as
+     * timeouts, retries and rate limit delays, on a single daemon thread. <br>
+     * Scheduled tasks must be short and must not block: longer work should be
+     * handed off to another executor. The scheduler must not be shut down.
+     * 
+     * @return the scheduler
+     */
+    @Nonnull
+    public static ScheduledExecutorService getScheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * Runs the {@code task} on the {@code executor} after the given
+     * {@code delay}, using the {@link #getScheduler() shared scheduler} only for
+     * waiting.
+     * 
+     * @param  task     the task to run
+     * @param  delay    the delay, in nanoseconds
+     * @param  executor the executor to run the task on
+     * @return          the scheduled future, which can be cancelled until the task
+     *                  is handed off to the {@code executor}
+     */
+    @Nonnull
+    public static ScheduledFuture<?> schedule(Runnable task, long delay, Executor executor) {
+        return SCHEDULER.schedule(() -> executor.execute(task), delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return if the runtime supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * @return                               the executor which runs each task on
+     *                                       a new virtual thread
+     * @throws UnsupportedOperationException if the runtime does not support
+     *                                       virtual threads
+     */
+    @Nonnull
+    public static Executor getVirtualThreadExecutor() {
+        if (VIRTUAL_THREAD_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this runtime!");
+        }
+        return VIRTUAL_THREAD_EXECUTOR;
+    }
+
+    /**
+     * Sets whether the suppliers of
+     * {@link io.github.matyrobbrt.curseforgeapi.request.AsyncRequest#of(java.util.function.Supplier)
+     * async requests} run on virtual threads, so that blocking in them does not
+     * hold a platform thread. <br>
+     * Disabling virtual threads restores the default {@link #futureExecutor},
+     * which runs each supplier on a platform thread.
+     * 
+     * @param  useVirtualThreads             whether to use virtual threads
+     * @throws UnsupportedOperationException if the runtime does not support
+     *                                       virtual threads
+     */
+    public static void setUseVirtualThreads(final boolean useVirtualThreads) {
+        futureExecutor = useVirtualThreads ? getVirtualThreadExecutor() : DEFAULT_FUTURE_EXECUTOR;
+        AsyncRequestValues.useVirtualThreads = useVirtualThreads;
+    }
+
+    public static boolean isUsingVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    @Nullable
+    private static ExecutorService makeVirtualThreadExecutor() {
+        try {
+            final MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invokeExact();
+        } catch (Throwable e) {
+            // Either the method doesn't exist (before Java 19), or preview features are disabled
+            return null;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor makeScheduler() {
+        final var executor = new ScheduledThreadPoolExecutor(1, r -> {
+            final var thread = new Thread(r, "AsyncRequestScheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Delayed work, like timeouts, is usually cancelled, so don't keep the cancelled tasks around
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static Executor makeDefaultExecutor() {
+        final var threadCount = new AtomicInteger();
+        // Suppliers usually block (as they make blocking requests), so they are
+        // handed off to a new thread instead of queueing behind the running ones
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            final var thread = new Thread(r, "AsyncRequestHandler #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
 }
@@ -27,6 +27,7 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -53,6 +54,11 @@ public final class EmptyAsyncRequest<T> implements AsyncRequest<T> {
         throw new ExecutionException(new AsyncRequest.EmptyRequestException());
     }
 
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return CompletableFuture.failedFuture(new AsyncRequest.EmptyRequestException());
+    }
+
     @Override
     public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
         if (onFailure != null && AsyncRequestValues.emptyRequestThrows) {
@@ -27,6 +27,10 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -37,6 +41,13 @@ import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 public class FlatMapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
 
     private final Function<? super I, ? extends AsyncRequest<O>> function;
+    /**
+     * The in-flight requests supplied by the {@link #function}, which are
+     * cancelled together with this request. Requests are removed once they
+     * complete.
+     */
+    private final Queue<AsyncRequest<O>> supplied = new ConcurrentLinkedQueue<>();
+    private volatile boolean cancelled;
 
     public FlatMapAsyncRequest(AsyncRequest<I> action,
         Function<? super I, ? extends AsyncRequest<O>> function) {
@@ -45,24 +56,86 @@ public class FlatMapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
     }
 
     private AsyncRequest<O> supply(I input) {
-        return function.apply(input);
+        if (cancelled) {
+            throw new CancellationException("FlatMap request was cancelled");
+        }
+        final var then = function.apply(input);
+        if (then != null) {
+            supplied.add(then);
+            // Cancelled while supplying
+            if (cancelled) {
+                then.cancel();
+            }
+        }
+        return then;
+    }
+
+    @Override
+    public CompletableFuture<O> toCompletableFuture() {
+        final var future = action.toCompletableFuture().thenCompose(result -> {
+            final var then = supply(result);
+            if (then == null) {
+                return CompletableFuture.failedFuture(new IllegalStateException("FlatMap operand is null"));
+            }
+            final var thenFuture = then.toCompletableFuture();
+            thenFuture.whenComplete((thenResult, t) -> supplied.remove(then));
+            return thenFuture;
+        });
+        future.whenComplete((result, t) -> {
+            if (future.isCancelled()) {
+                cancel();
+            }
+        });
+        return future;
     }
 
     @Override
     public void queue(@Nullable Consumer<? super O> success, @Nullable Consumer<? super Throwable> failure) {
         Consumer<? super Throwable> contextFailure = failure == null ? AsyncRequestValues.defaultFailure : failure;
         action.queue(result -> {
-            final var then = supply(result);
+            final AsyncRequest<O> then;
+            try {
+                then = supply(result);
+            } catch (CancellationException e) {
+                contextFailure.accept(e);
+                return;
+            }
             if (then == null) {
                 contextFailure.accept(new IllegalStateException("FlatMap operand is null"));
             } else {
-                then.queue(success, contextFailure);
+                then.queue(thenResult -> {
+                    supplied.remove(then);
+                    if (success != null) {
+                        success.accept(thenResult);
+                    }
+                }, t -> {
+                    supplied.remove(then);
+                    contextFailure.accept(t);
+                });
             }
         }, contextFailure);
     }
 
     @Override
     public O get() throws InterruptedException, ExecutionException {
-        return function.apply(action.get()).get();
+        final var then = supply(action.get());
+        if (then == null) {
+            throw new ExecutionException(new IllegalStateException("FlatMap operand is null"));
+        }
+        try {
+            return then.get();
+        } finally {
+            supplied.remove(then);
+        }
+    }
+
+    @Override
+    public boolean cancel() {
+        cancelled = true;
+        boolean cancelledAny = action.cancel();
+        for (final var then : supplied) {
+            cancelledAny |= then.cancel();
+        }
+        return cancelledAny;
     }
 }
@@ -27,12 +27,14 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.util.Utils;
 
 public class MapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
 
@@ -43,6 +45,12 @@ public class MapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
         this.function = function;
     }
 
+    @Override
+    public CompletableFuture<O> toCompletableFuture() {
+        final var source = action.toCompletableFuture();
+        return Utils.propagateCancellation(source.thenApply(function), source);
+    }
+
     @Override
     public void queue(@Nullable Consumer<? super O> success, @Nullable Consumer<? super Throwable> failure) {
         action.queue(result -> {
@@ -57,4 +65,9 @@ public class MapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
         return function.apply(action.get());
     }
 
+    @Override
+    public boolean cancel() {
+        return action.cancel();
+    }
+
 }
@@ -28,12 +28,14 @@
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.util.Utils;
 
 public record OfCompletableFutureAsyncRequest<T> (@Nonnull CompletableFuture<T> future) implements AsyncRequest<T> {
 
@@ -46,33 +48,29 @@ public record OfCompletableFutureAsyncRequest<T> (@Nonnull CompletableFuture<T>
         return future.get();
     }
 
+    @Override
+    public boolean cancel() {
+        return future.cancel(true);
+    }
+
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return Utils.propagateCancellation(future.copy(), future);
+    }
+
     @Override
     public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
-        AsyncRequestValues.futureExecutor.execute(() -> {
-            try {
-                final var tFuture = this.future.whenComplete((o, t) -> {
-                    if (o != null && onSuccess != null) {
-                        onSuccess.accept(o);
-                    }
-                    if (t != null) {
-                        if (onFailure != null) {
-                            onFailure.accept(t);
-                        } else {
-                            AsyncRequestValues.defaultFailure.accept(t);
-                        }
-                    }
-                });
-                while (!tFuture.isDone()) {
-                    Thread.sleep(100);
-                }
-                tFuture.get();
-            } catch (ExecutionException e) {
+        // The callbacks are run by the thread completing the future, or by the caller if it already completed
+        future.whenComplete((o, t) -> {
+            if (t != null) {
+                final var cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
                 if (onFailure != null) {
-                    onFailure.accept(e.getCause());
+                    onFailure.accept(cause);
+                } else {
+                    AsyncRequestValues.defaultFailure.accept(cause);
                 }
-            } catch (InterruptedException e) {
-                LOGGER.error("InterruptedException while awaiting request!", e);
-                throw new RuntimeException(e);
+            } else if (o != null && onSuccess != null) {
+                onSuccess.accept(o);
             }
         });
     }
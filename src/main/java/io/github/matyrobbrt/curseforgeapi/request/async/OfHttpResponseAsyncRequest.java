@@ -33,6 +33,7 @@ import java.util.function.Consumer;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.util.Utils;
 
 public record OfHttpResponseAsyncRequest<T> (@Nonnull CompletableFuture<T> future) implements AsyncRequest<T> {
 
@@ -41,6 +42,16 @@ public record OfHttpResponseAsyncRequest<T> (@Nonnull CompletableFuture<T> futur
         return future.get();
     }
 
+    @Override
+    public boolean cancel() {
+        return future.cancel(true);
+    }
+
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return Utils.propagateCancellation(future.copy(), future);
+    }
+
     @Override
     public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
         future.whenComplete((o, t) -> {
@@ -27,6 +27,7 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 
@@ -39,6 +40,12 @@ public record OfValueAsyncRequest<T> (T value) implements AsyncRequest<T> {
         return value;
     }
 
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return value == null ? CompletableFuture.failedFuture(new NullPointerException())
+            : CompletableFuture.completedFuture(value);
+    }
+
     @Override
     public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
         if (value != null) {
@@ -27,6 +27,8 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -34,30 +36,53 @@ import java.util.function.Consumer;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.DoubleAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.util.Pair;
+import io.github.matyrobbrt.curseforgeapi.util.Utils;
 
+/**
+ * A request which runs both of its requests at the same time, and joins their
+ * results.
+ */
 public record PairAsyncRequest<F, S> (AsyncRequest<F> first, AsyncRequest<S> second)
     implements DoubleAsyncRequest<F, S> {
 
     @Override
+    @SuppressWarnings("unchecked")
     public Pair<F, S> get() throws InterruptedException, ExecutionException {
-        return Pair.of(first.get(), second.get());
+        final var results = AsyncJoin.getAll(List.of(first, second));
+        return Pair.of((F) results[0], (S) results[1]);
     }
     
+    @Override
+    public boolean cancel() {
+        // Both requests are cancelled, even if the first one was
+        return first.cancel() | second.cancel();
+    }
+
+    @Override
+    public CompletableFuture<Pair<F, S>> toCompletableFuture() {
+        final var firstFuture = first.toCompletableFuture();
+        final var secondFuture = second.toCompletableFuture();
+        final var future = firstFuture.thenCombine(secondFuture, Pair::of);
+        Utils.propagateCancellation(future, firstFuture);
+        return Utils.propagateCancellation(future, secondFuture);
+    }
+
     @Override
     public void queue(Consumer<? super Pair<F, S>> onSuccess, Consumer<? super Throwable> onFailure) {
-        first.queue(f -> second.queue(s -> {
+        queue((f, s) -> {
             if (onSuccess != null) {
                 onSuccess.accept(Pair.of(f, s));
             }
-        }, onFailure), onFailure);
+        }, onFailure);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void queue(BiConsumer<? super F, ? super S> onSuccess, Consumer<? super Throwable> onFailure) {
-        first.queue(f -> second.queue(s -> {
+        AsyncJoin.queueAll(List.of(first, second), results -> {
             if (onSuccess != null) {
-                onSuccess.accept(f, s);
+                onSuccess.accept((F) results[0], (S) results[1]);
             }
-        }, onFailure), onFailure);
+        }, onFailure);
     }
 }
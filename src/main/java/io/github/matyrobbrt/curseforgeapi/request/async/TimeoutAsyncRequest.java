@@ -0,0 +1,118 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.async;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.util.Utils;
+
+/**
+ * A request which is cancelled, and fails with a {@link TimeoutException}, if
+ * it doesn't complete within its {@code timeout}.
+ */
+public record TimeoutAsyncRequest<T> (AsyncRequest<T> request, Duration timeout) implements AsyncRequest<T> {
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        // Waits on the future of the request, so that requests which can't be
+        // cancelled don't block past the timeout either
+        final var future = request.toCompletableFuture();
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            request.cancel();
+            throw new ExecutionException(timeoutException());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        final var source = request.toCompletableFuture();
+        final var future = new CompletableFuture<T>();
+        Utils.completeFrom(future, source);
+        final var task = AsyncRequestValues.schedule(() -> {
+            if (future.completeExceptionally(timeoutException())) {
+                request.cancel();
+            }
+        }, timeout.toNanos(), AsyncRequestValues.getFutureExecutor());
+        future.whenComplete((result, t) -> {
+            task.cancel(false);
+            if (future.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+        final Consumer<? super Throwable> contextFailure = onFailure == null ? AsyncRequestValues.defaultFailure
+            : onFailure;
+        final var done = new AtomicBoolean();
+        final var task = AsyncRequestValues.schedule(() -> {
+            if (done.compareAndSet(false, true)) {
+                // The cancellation failure of the request is ignored, as it is done
+                request.cancel();
+                contextFailure.accept(timeoutException());
+            }
+        }, timeout.toNanos(), AsyncRequestValues.getFutureExecutor());
+        request.queue(result -> {
+            if (done.compareAndSet(false, true)) {
+                task.cancel(false);
+                if (onSuccess != null) {
+                    onSuccess.accept(result);
+                }
+            }
+        }, t -> {
+            if (done.compareAndSet(false, true)) {
+                task.cancel(false);
+                contextFailure.accept(t);
+            }
+        });
+    }
+
+    @Override
+    public boolean cancel() {
+        return request.cancel();
+    }
+
+    private TimeoutException timeoutException() {
+        return new TimeoutException("Request did not complete within " + timeout);
+    }
+}
@@ -27,6 +27,7 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 
@@ -46,6 +47,11 @@ public class WithExceptionAsyncRequest<T> implements AsyncRequest<T> {
         return null;
     }
 
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return CompletableFuture.failedFuture(exception);
+    }
+
     @Override
     public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> failure) {
         final Consumer<? super Throwable> contextFailure = failure == null ? AsyncRequestValues.defaultFailure : failure;
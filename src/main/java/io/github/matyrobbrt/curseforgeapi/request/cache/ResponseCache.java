@@ -0,0 +1,102 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.GenericRequest;
+import io.github.matyrobbrt.curseforgeapi.request.RawResponse;
+
+/**
+ * A cache of API responses, keyed by the {@link GenericRequest} which produced
+ * them. Requests are equal if their method, endpoint and body are equal. <br>
+ * Implementations must be thread-safe.
+ * 
+ * @author matyrobbrt
+ * @see    TinyLfuResponseCache
+ *
+ */
+public interface ResponseCache {
+
+    /**
+     * Gets the cached response of the {@code request}.
+     * 
+     * @param  request the request to get the response of
+     * @return         the cached response, or {@code null} if the response of the
+     *                 request is not cached, or expired
+     */
+    @Nullable
+    RawResponse get(GenericRequest request);
+
+    /**
+     * Caches the {@code response} of the {@code request}. Implementations may
+     * decide to not cache the response.
+     * 
+     * @param request  the request
+     * @param response the response of the request
+     */
+    void put(GenericRequest request, RawResponse response);
+
+    /**
+     * Removes the cached response of the {@code request}, if present.
+     * 
+     * @param request the request to remove the response of
+     */
+    void invalidate(GenericRequest request);
+
+    /**
+     * Removes all the cached responses.
+     */
+    void invalidateAll();
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    Stats stats();
+
+    /**
+     * A snapshot of the statistics of a {@link ResponseCache}.
+     * 
+     * @param hitCount      the amount of lookups which returned a cached response
+     * @param missCount     the amount of lookups which did not return a cached
+     *                      response
+     * @param evictionCount the amount of responses evicted in order to make room
+     *                      for others
+     * @param size          the amount of responses currently cached
+     */
+    record Stats(long hitCount, long missCount, long evictionCount, int size) {
+
+        /**
+         * @return the ratio of lookups which returned a cached response, or
+         *         {@code 1} if no lookups were made
+         */
+        public double hitRate() {
+            final var requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.GenericRequest;
+import io.github.matyrobbrt.curseforgeapi.request.RawResponse;
+
+/**
+ * A size-bounded {@link ResponseCache} using the W-TinyLFU eviction policy.
+ * <br>
+ * New responses enter a small LRU window. Responses evicted from the window
+ * compete for a place in the main, segmented LRU space with its least recently
+ * used response, and the one which was requested more often, as estimated by a
+ * frequency sketch, is kept. This way, a burst of one-off requests (like
+ * crawling search results) does not evict popular responses. <br>
+ * Responses expire after a TTL, which can be configured per endpoint prefix.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class TinyLfuResponseCache implements ResponseCache {
+
+    private final int maximumSize;
+    private final int maxWindow;
+    private final int maxMain;
+    private final int maxProtected;
+    private final Duration defaultTtl;
+    private final Map<String, Duration> ttls;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<GenericRequest, Node> data = new HashMap<>();
+    // Ordered from the least recently used to the most recently used
+    private final LinkedHashMap<GenericRequest, Node> window = new LinkedHashMap<>();
+    private final LinkedHashMap<GenericRequest, Node> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<GenericRequest, Node> protectedSegment = new LinkedHashMap<>();
+    private final FrequencySketch sketch;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private TinyLfuResponseCache(int maximumSize, Duration defaultTtl, Map<String, Duration> ttls) {
+        this.maximumSize = maximumSize;
+        this.maxWindow = Math.max(1, maximumSize / 100);
+        this.maxMain = maximumSize - maxWindow;
+        this.maxProtected = (int) (maxMain * 0.8);
+        this.defaultTtl = defaultTtl;
+        this.ttls = Map.copyOf(ttls);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Creates a {@link Builder} instance for creating a
+     * {@link TinyLfuResponseCache}.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Nullable
+    @Override
+    public RawResponse get(GenericRequest request) {
+        lock.lock();
+        try {
+            sketch.increment(request);
+            final var node = data.get(request);
+            if (node == null) {
+                missCount.increment();
+                return null;
+            }
+            if (node.isExpired(System.nanoTime())) {
+                remove(node);
+                missCount.increment();
+                return null;
+            }
+            onHit(node);
+            hitCount.increment();
+            return node.response;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(GenericRequest request, RawResponse response) {
+        final var ttl = getTtl(request.endpoint());
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        final var expiresAt = System.nanoTime() + saturatedNanos(ttl);
+        lock.lock();
+        try {
+            final var existing = data.get(request);
+            if (existing != null) {
+                existing.response = response;
+                existing.expiresAt = expiresAt;
+                return;
+            }
+            final var node = new Node(request, response, expiresAt);
+            data.put(request, node);
+            window.put(request, node);
+            while (window.size() > maxWindow) {
+                final var candidate = window.values().iterator().next();
+                window.remove(candidate.request);
+                admit(candidate);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(GenericRequest request) {
+        lock.lock();
+        try {
+            final var node = data.get(request);
+            if (node != null) {
+                remove(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Stats stats() {
+        final int size;
+        lock.lock();
+        try {
+            size = data.size();
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    /**
+     * @return the maximum amount of responses this cache can hold
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the TTL of the responses of requests to the {@code endpoint}, which is
+     * the TTL configured for its longest prefix, or the default one if none
+     * match.
+     * 
+     * @param  endpoint the endpoint
+     * @return          the TTL of the responses
+     */
+    public Duration getTtl(String endpoint) {
+        var ttl = defaultTtl;
+        var matchLength = -1;
+        for (final var entry : ttls.entrySet()) {
+            final var prefix = entry.getKey();
+            if (prefix.length() > matchLength && endpoint.startsWith(prefix)) {
+                ttl = entry.getValue();
+                matchLength = prefix.length();
+            }
+        }
+        return ttl;
+    }
+
+    private void onHit(Node node) {
+        switch (node.segment) {
+        case WINDOW -> moveToEnd(window, node);
+        case PROTECTED -> moveToEnd(protectedSegment, node);
+        case PROBATION -> {
+            probation.remove(node.request);
+            node.segment = Segment.PROTECTED;
+            protectedSegment.put(node.request, node);
+            if (protectedSegment.size() > maxProtected) {
+                final var demoted = protectedSegment.values().iterator().next();
+                protectedSegment.remove(demoted.request);
+                demoted.segment = Segment.PROBATION;
+                probation.put(demoted.request, demoted);
+            }
+        }
+        }
+    }
+
+    /**
+     * Decides whether the {@code candidate}, evicted from the window, should be
+     * kept in the main space.
+     */
+    private void admit(Node candidate) {
+        candidate.segment = Segment.PROBATION;
+        if (probation.size() + protectedSegment.size() < maxMain) {
+            probation.put(candidate.request, candidate);
+            return;
+        }
+        if (candidate.isExpired(System.nanoTime()) || probation.isEmpty()) {
+            data.remove(candidate.request);
+            evictionCount.increment();
+            return;
+        }
+        final var victim = probation.values().iterator().next();
+        if (sketch.frequency(candidate.request) > sketch.frequency(victim.request)) {
+            remove(victim);
+            probation.put(candidate.request, candidate);
+        } else {
+            data.remove(candidate.request);
+        }
+        evictionCount.increment();
+    }
+
+    private void remove(Node node) {
+        data.remove(node.request);
+        switch (node.segment) {
+        case WINDOW -> window.remove(node.request);
+        case PROBATION -> probation.remove(node.request);
+        case PROTECTED -> protectedSegment.remove(node.request);
+        }
+    }
+
+    private static void moveToEnd(LinkedHashMap<GenericRequest, Node> segment, Node node) {
+        segment.remove(node.request);
+        segment.put(node.request, node);
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+
+    private enum Segment {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static final class Node {
+
+        private final GenericRequest request;
+        private RawResponse response;
+        private long expiresAt;
+        private Segment segment = Segment.WINDOW;
+
+        private Node(GenericRequest request, RawResponse response, long expiresAt) {
+            this.request = request;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * A builder class used for creating {@link TinyLfuResponseCache} instances.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+
+        private Builder() {
+        }
+
+        private int maximumSize = 1000;
+        private Duration defaultTtl = Duration.ofMinutes(5);
+        private final Map<String, Duration> ttls = new HashMap<>();
+
+        /**
+         * Sets the maximum amount of responses the cache can hold. <br>
+         * By default, this is set to {@code 1000}.
+         * 
+         * @param  maximumSize the maximum amount of responses
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("The maximum size of the cache must be positive!");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the TTL of responses of endpoints without a
+         * {@link #ttl(String, Duration) specific TTL}. <br>
+         * By default, this is set to 5 minutes.
+         * 
+         * @param  defaultTtl the default TTL. A zero TTL disables caching
+         * @return            the builder instance, for chaining purposes
+         */
+        public Builder defaultTtl(Duration defaultTtl) {
+            this.defaultTtl = Objects.requireNonNull(defaultTtl);
+            return this;
+        }
+
+        /**
+         * Sets the TTL of responses of endpoints starting with the
+         * {@code endpointPrefix}, like {@code /v1/games}. When multiple prefixes
+         * match an endpoint, the longest one is used.
+         * 
+         * @param  endpointPrefix the prefix of the endpoints
+         * @param  ttl            the TTL. A zero TTL disables caching
+         * @return                the builder instance, for chaining purposes
+         */
+        public Builder ttl(String endpointPrefix, Duration ttl) {
+            ttls.put(Objects.requireNonNull(endpointPrefix), Objects.requireNonNull(ttl));
+            return this;
+        }
+
+        /**
+         * Builds the {@link TinyLfuResponseCache} based on the configurations of
+         * this Builder.
+         * 
+         * @return the cache
+         */
+        public TinyLfuResponseCache build() {
+            return new TinyLfuResponseCache(maximumSize, defaultTtl, ttls);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.circuit;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A circuit breaker guarding the requests to an endpoint family. <br>
+ * While {@link State#CLOSED closed}, the outcomes of the last requests are
+ * recorded, and once the ratio of failures among them reaches the threshold,
+ * the breaker opens. While {@link State#OPEN open}, all requests are rejected.
+ * After the open duration, the breaker becomes {@link State#HALF_OPEN
+ * half-open}, and lets a few probe requests through: if all of them succeed the
+ * breaker closes, otherwise it opens again.
+ * 
+ * @author matyrobbrt
+ * @see    CircuitBreakers
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class CircuitBreaker {
+
+    private final String family;
+    private final CircuitBreakers.Config config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile State state = State.CLOSED;
+    // Incremented on each state transition, so that outcomes of requests
+    // permitted in a previous state are ignored
+    private long generation;
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+    private long openedAt;
+    private int probesPermitted;
+    private int probesSucceeded;
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder openedCount = new LongAdder();
+
+    CircuitBreaker(String family, CircuitBreakers.Config config) {
+        this.family = family;
+        this.config = config;
+        this.outcomes = new boolean[config.slidingWindowSize()];
+    }
+
+    /**
+     * Tries to acquire a permit for sending a request.
+     * 
+     * @return the permit, which must be used for recording the outcome of the
+     *         request, or {@code null} if the request is rejected
+     */
+    @Nullable
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            switch (state) {
+            case OPEN -> {
+                if (System.nanoTime() - openedAt < config.openDuration().toNanos()) {
+                    rejectedCount.increment();
+                    return null;
+                }
+                transition(State.HALF_OPEN);
+                probesPermitted = 1;
+                return new Permit(generation);
+            }
+            case HALF_OPEN -> {
+                if (probesPermitted >= config.halfOpenProbes()) {
+                    rejectedCount.increment();
+                    return null;
+                }
+                probesPermitted++;
+                return new Permit(generation);
+            }
+            default -> {
+                return new Permit(generation);
+            }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onOutcome(long permitGeneration, boolean success) {
+        lock.lock();
+        try {
+            if (permitGeneration != generation) {
+                return;
+            }
+            switch (state) {
+            case CLOSED -> {
+                if (outcomeCount == outcomes.length) {
+                    if (!outcomes[outcomeIndex]) {
+                        failureCount--;
+                    }
+                } else {
+                    outcomeCount++;
+                }
+                outcomes[outcomeIndex] = success;
+                outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+                if (!success) {
+                    failureCount++;
+                }
+                if (outcomeCount >= config.minimumCalls()
+                    && failureCount >= config.failureRateThreshold() * outcomeCount) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> {
+                if (!success) {
+                    open();
+                } else if (++probesSucceeded >= config.halfOpenProbes()) {
+                    transition(State.CLOSED);
+                }
+            }
+            default -> {}
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long permitGeneration) {
+        lock.lock();
+        try {
+            if (permitGeneration == generation && state == State.HALF_OPEN) {
+                probesPermitted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = System.nanoTime();
+        openedCount.increment();
+    }
+
+    private void transition(State newState) {
+        state = newState;
+        generation++;
+        outcomeIndex = 0;
+        outcomeCount = 0;
+        failureCount = 0;
+        probesPermitted = 0;
+        probesSucceeded = 0;
+    }
+
+    /**
+     * @return the endpoint family guarded by this breaker
+     */
+    public String getFamily() {
+        return family;
+    }
+
+    /**
+     * @return the current state of this breaker. An {@link State#OPEN open}
+     *         breaker whose open duration elapsed becomes
+     *         {@link State#HALF_OPEN half-open} with the next request
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return a snapshot of the metrics of this breaker
+     */
+    public Metrics metrics() {
+        lock.lock();
+        try {
+            return new Metrics(state, outcomeCount == 0 ? 0 : (double) failureCount / outcomeCount, outcomeCount,
+                rejectedCount.sum(), openedCount.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The states of a {@link CircuitBreaker}.
+     */
+    public enum State {
+        /**
+         * Requests are sent, and their outcomes are recorded.
+         */
+        CLOSED,
+        /**
+         * Requests are rejected.
+         */
+        OPEN,
+        /**
+         * A few probe requests are sent, in order to check if the API recovered.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * A permit for sending a request, used for recording its outcome.
+     */
+    public final class Permit {
+
+        private final long generation;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+
+        /**
+         * Records that the request succeeded.
+         */
+        public void onSuccess() {
+            onOutcome(generation, true);
+        }
+
+        /**
+         * Records that the request failed.
+         */
+        public void onFailure() {
+            onOutcome(generation, false);
+        }
+
+        /**
+         * Releases this permit without recording an outcome, like when the request
+         * was cancelled.
+         */
+        public void release() {
+            CircuitBreaker.this.release(generation);
+        }
+    }
+
+    /**
+     * A snapshot of the metrics of a {@link CircuitBreaker}.
+     * 
+     * @param state         the state of the breaker
+     * @param failureRate   the ratio of failures among the recorded requests
+     * @param recordedCount the amount of requests recorded in the current state
+     * @param rejectedCount the amount of requests rejected
+     * @param openedCount   the amount of times the breaker opened
+     */
+    public record Metrics(State state, double failureRate, int recordedCount, long rejectedCount, long openedCount) {
+
+    }
+}
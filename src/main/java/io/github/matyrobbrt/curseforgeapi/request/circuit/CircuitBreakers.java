@@ -0,0 +1,238 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.circuit;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * The {@link CircuitBreaker circuit breakers} of the endpoint families of the
+ * CurseForge API, and of the Upload API. The family of an endpoint is its
+ * longest configured prefix. Requests to endpoints without a family are not
+ * guarded.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class CircuitBreakers {
+
+    /**
+     * The family of the requests to the Upload API.
+     */
+    public static final String UPLOAD_API = "upload";
+
+    private final Map<String, CircuitBreaker> breakers;
+
+    private CircuitBreakers(Set<String> families, Config config) {
+        final var breakers = new LinkedHashMap<String, CircuitBreaker>();
+        families.forEach(family -> breakers.put(family, new CircuitBreaker(family, config)));
+        breakers.put(UPLOAD_API, new CircuitBreaker(UPLOAD_API, config));
+        this.breakers = Collections.unmodifiableMap(breakers);
+    }
+
+    /**
+     * Creates a {@link Builder} instance for creating {@link CircuitBreakers}.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the breaker guarding the requests to the {@code endpoint}.
+     * 
+     * @param  endpoint the endpoint of the CurseForge API
+     * @return          the breaker, or {@code null} if the endpoint has no family
+     */
+    @Nullable
+    public CircuitBreaker forEndpoint(String endpoint) {
+        CircuitBreaker breaker = null;
+        var matchLength = -1;
+        for (final var entry : breakers.entrySet()) {
+            final var family = entry.getKey();
+            if (family.length() > matchLength && !family.equals(UPLOAD_API) && endpoint.startsWith(family)) {
+                breaker = entry.getValue();
+                matchLength = family.length();
+            }
+        }
+        return breaker;
+    }
+
+    /**
+     * Gets the breaker of the {@code family}.
+     * 
+     * @param  family the family, or {@link #UPLOAD_API}
+     * @return        the breaker, or {@code null} if the family is not configured
+     */
+    @Nullable
+    public CircuitBreaker get(String family) {
+        return breakers.get(family);
+    }
+
+    /**
+     * @return all the breakers
+     */
+    public List<CircuitBreaker> getAll() {
+        return List.copyOf(breakers.values());
+    }
+
+    /**
+     * @return the current state of each breaker, by family
+     */
+    public Map<String, CircuitBreaker.State> getStates() {
+        final var states = new LinkedHashMap<String, CircuitBreaker.State>();
+        breakers.forEach((family, breaker) -> states.put(family, breaker.getState()));
+        return states;
+    }
+
+    /**
+     * The configuration of the {@link CircuitBreaker circuit breakers}.
+     * 
+     * @param failureRateThreshold the ratio of failed requests at which a breaker
+     *                             opens
+     * @param slidingWindowSize    the amount of most recent requests recorded
+     * @param minimumCalls         the minimum amount of recorded requests before
+     *                             a breaker can open
+     * @param openDuration         how long a breaker stays open
+     * @param halfOpenProbes       the amount of probe requests which must succeed
+     *                             in order to close a half-open breaker
+     */
+    record Config(double failureRateThreshold, int slidingWindowSize, int minimumCalls, Duration openDuration,
+        int halfOpenProbes) {
+
+    }
+
+    /**
+     * A builder class used for creating {@link CircuitBreakers} instances.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+
+        private Builder() {
+        }
+
+        private final Set<String> families = new LinkedHashSet<>(List.of("/v1/mods", "/v1/fingerprints"));
+        private double failureRateThreshold = 0.5;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 3;
+
+        /**
+         * Adds an endpoint family, like {@code /v1/games}. <br>
+         * By default, the families are {@code /v1/mods} and
+         * {@code /v1/fingerprints}, along with the {@link CircuitBreakers#UPLOAD_API
+         * Upload API}.
+         * 
+         * @param  endpointPrefix the prefix of the endpoints in the family
+         * @return                the builder instance, for chaining purposes
+         */
+        public Builder family(String endpointPrefix) {
+            families.add(Objects.requireNonNull(endpointPrefix));
+            return this;
+        }
+
+        /**
+         * Sets when the breakers open: when at least {@code threshold} of the last
+         * {@code slidingWindowSize} requests failed, and at least
+         * {@code minimumCalls} requests were recorded. <br>
+         * By default, these are set to {@code 0.5}, {@code 20} and {@code 10}.
+         * 
+         * @param  threshold         the ratio of failed requests
+         * @param  slidingWindowSize the amount of most recent requests recorded
+         * @param  minimumCalls      the minimum amount of recorded requests
+         * @return                   the builder instance, for chaining purposes
+         */
+        public Builder failureRateThreshold(double threshold, int slidingWindowSize, int minimumCalls) {
+            if (threshold <= 0 || threshold > 1) {
+                throw new IllegalArgumentException("The failure rate threshold must be in (0, 1]!");
+            }
+            if (slidingWindowSize < 1 || minimumCalls < 1 || minimumCalls > slidingWindowSize) {
+                throw new IllegalArgumentException("Invalid sliding window size or minimum calls!");
+            }
+            this.failureRateThreshold = threshold;
+            this.slidingWindowSize = slidingWindowSize;
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets how long the breakers stay open before letting probe requests
+         * through. <br>
+         * By default, this is set to 30 seconds.
+         * 
+         * @param  openDuration the open duration
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = Objects.requireNonNull(openDuration);
+            return this;
+        }
+
+        /**
+         * Sets the amount of probe requests which must succeed in order to close a
+         * half-open breaker. <br>
+         * By default, this is set to {@code 3}.
+         * 
+         * @param  halfOpenProbes the amount of probe requests
+         * @return                the builder instance, for chaining purposes
+         */
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            if (halfOpenProbes < 1) {
+                throw new IllegalArgumentException("The amount of half-open probes must be positive!");
+            }
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        /**
+         * Builds the {@link CircuitBreakers} based on the configurations of this
+         * Builder.
+         * 
+         * @return the circuit breakers
+         */
+        public CircuitBreakers build() {
+            return new CircuitBreakers(families, new Config(failureRateThreshold, slidingWindowSize, minimumCalls,
+                openDuration, halfOpenProbes));
+        }
+    }
+}
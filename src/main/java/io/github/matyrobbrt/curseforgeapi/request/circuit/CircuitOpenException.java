@@ -0,0 +1,65 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.circuit;
+
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+/**
+ * An exception thrown when a request is not sent because the
+ * {@link CircuitBreaker} of its endpoint family is open.
+ * 
+ * @author matyrobbrt
+ *
+ */
+public final class CircuitOpenException extends CurseForgeException {
+
+    private static final long serialVersionUID = -3163718436374812542L;
+
+    private final String family;
+    private final CircuitBreaker.State state;
+
+    public CircuitOpenException(String family, CircuitBreaker.State state) {
+        super("The circuit breaker of '%s' is %s.".formatted(family, state.name().toLowerCase().replace('_', '-')));
+        this.family = family;
+        this.state = state;
+    }
+
+    /**
+     * @return the endpoint family whose circuit breaker rejected the request
+     */
+    public String getFamily() {
+        return family;
+    }
+
+    /**
+     * @return the state of the circuit breaker when it rejected the request
+     */
+    public CircuitBreaker.State getState() {
+        return state;
+    }
+}
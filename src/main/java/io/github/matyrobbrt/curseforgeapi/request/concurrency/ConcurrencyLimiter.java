@@ -0,0 +1,321 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An adaptive limit of the amount of concurrent HTTP exchanges, using additive
+ * increase / multiplicative decrease. <br>
+ * The lowest latency observed recently is used as the latency of the API
+ * without load. When an exchange is dropped (it fails, or is throttled), or
+ * takes longer than {@code tolerance} times that latency, the API is
+ * considered overloaded, and the limit is multiplied by the backoff ratio.
+ * Otherwise, if the limit is being used, it is increased by one. <br>
+ * Exchanges over the limit wait in a queue, in order.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class ConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final int minLatencyWindow;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<CompletableFuture<Permit>> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long minLatency = Long.MAX_VALUE;
+    private long windowMinLatency = Long.MAX_VALUE;
+    private int windowSamples;
+
+    private final LongAdder queuedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    private ConcurrencyLimiter(Builder builder) {
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.tolerance = builder.tolerance;
+        this.minLatencyWindow = builder.minLatencyWindow;
+        this.limit = builder.initialLimit;
+    }
+
+    /**
+     * Creates a {@link Builder} instance for creating a
+     * {@link ConcurrencyLimiter}.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Acquires a permit for an exchange. If the limit is reached, the permit is
+     * queued. <br>
+     * Cancelling the returned future removes the permit from the queue.
+     * 
+     * @return a future which completes with the permit, once the exchange can be
+     *         sent
+     */
+    public CompletableFuture<Permit> acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit && queue.isEmpty()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            final var future = new CompletableFuture<Permit>();
+            queue.add(future);
+            queuedCount.increment();
+            return future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(@Nullable Permit permit, long latency, boolean dropped) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (permit != null) {
+                onSample(latency, dropped);
+            }
+        } finally {
+            lock.unlock();
+        }
+        dispatchQueued();
+    }
+
+    private void onSample(long latency, boolean dropped) {
+        windowMinLatency = Math.min(windowMinLatency, latency);
+        if (++windowSamples >= minLatencyWindow) {
+            // Periodically forget the minimum latency, as the latency of the API may change
+            minLatency = windowMinLatency;
+            windowMinLatency = Long.MAX_VALUE;
+            windowSamples = 0;
+        } else {
+            minLatency = Math.min(minLatency, latency);
+        }
+        if (dropped || latency > tolerance * minLatency) {
+            if (dropped) {
+                droppedCount.increment();
+            }
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    private void dispatchQueued() {
+        while (true) {
+            final CompletableFuture<Permit> next;
+            lock.lock();
+            try {
+                if (queue.isEmpty() || inFlight >= (int) limit) {
+                    return;
+                }
+                next = queue.poll();
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+            // If the waiting exchange was cancelled, give its place to the next one
+            if (!next.complete(new Permit())) {
+                lock.lock();
+                try {
+                    inFlight--;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of the metrics of this limiter
+     */
+    public Metrics metrics() {
+        lock.lock();
+        try {
+            return new Metrics((int) limit, inFlight, queue.size(), queuedCount.sum(), droppedCount.sum(),
+                minLatency == Long.MAX_VALUE ? Duration.ZERO : Duration.ofNanos(minLatency));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A permit for sending an exchange, used for recording its outcome. Exactly
+     * one of the methods of the permit must be called, once the exchange
+     * completes.
+     */
+    public final class Permit {
+
+        private final long start = System.nanoTime();
+
+        private Permit() {
+        }
+
+        /**
+         * Records that the exchange succeeded.
+         */
+        public void onSuccess() {
+            ConcurrencyLimiter.this.release(this, System.nanoTime() - start, false);
+        }
+
+        /**
+         * Records that the exchange was dropped, because it failed or was throttled.
+         */
+        public void onDropped() {
+            ConcurrencyLimiter.this.release(this, System.nanoTime() - start, true);
+        }
+
+        /**
+         * Releases this permit without recording the outcome of the exchange, like
+         * when it was cancelled.
+         */
+        public void release() {
+            ConcurrencyLimiter.this.release(null, 0, false);
+        }
+    }
+
+    /**
+     * A snapshot of the metrics of a {@link ConcurrencyLimiter}.
+     * 
+     * @param limit        the current limit
+     * @param inFlight     the amount of exchanges in flight
+     * @param queueLength  the amount of exchanges waiting for a permit
+     * @param queuedCount  the amount of exchanges which had to wait for a permit
+     * @param droppedCount the amount of dropped exchanges
+     * @param minLatency   the lowest latency observed recently
+     */
+    public record Metrics(int limit, int inFlight, int queueLength, long queuedCount, long droppedCount,
+        Duration minLatency) {
+
+    }
+
+    /**
+     * A builder class used for creating {@link ConcurrencyLimiter} instances.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+
+        private Builder() {
+        }
+
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private double tolerance = 2.0;
+        private int minLatencyWindow = 500;
+
+        /**
+         * Sets the limit of concurrent exchanges. <br>
+         * By default, the limit starts at {@code 20}, and stays between {@code 1}
+         * and {@code 200}.
+         * 
+         * @param  initialLimit the initial limit
+         * @param  minLimit     the minimum limit
+         * @param  maxLimit     the maximum limit
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder limit(int initialLimit, int minLimit, int maxLimit) {
+            if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("Invalid limits! Expected 1 <= min <= initial <= max.");
+            }
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Sets the ratio the limit is multiplied by when the API is overloaded.
+         * <br>
+         * By default, this is set to {@code 0.9}.
+         * 
+         * @param  backoffRatio the ratio, in {@code [0.5, 1)}
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            if (backoffRatio < 0.5 || backoffRatio >= 1) {
+                throw new IllegalArgumentException("The backoff ratio must be in [0.5, 1)!");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Sets how many times longer than the lowest recent latency an exchange
+         * can take before the API is considered overloaded, and how many exchanges
+         * the lowest latency is remembered for. <br>
+         * By default, these are set to {@code 2} and {@code 500}.
+         * 
+         * @param  tolerance        the tolerance, greater than {@code 1}
+         * @param  minLatencyWindow the amount of exchanges
+         * @return                  the builder instance, for chaining purposes
+         */
+        public Builder latencyTolerance(double tolerance, int minLatencyWindow) {
+            if (tolerance <= 1 || minLatencyWindow < 1) {
+                throw new IllegalArgumentException("Invalid latency tolerance or window!");
+            }
+            this.tolerance = tolerance;
+            this.minLatencyWindow = minLatencyWindow;
+            return this;
+        }
+
+        /**
+         * Builds the {@link ConcurrencyLimiter} based on the configurations of this
+         * Builder.
+         * 
+         * @return the limiter
+         */
+        public ConcurrencyLimiter build() {
+            return new ConcurrencyLimiter(this);
+        }
+    }
+}
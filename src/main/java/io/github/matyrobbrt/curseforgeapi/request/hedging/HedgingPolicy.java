@@ -0,0 +1,242 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.hedging;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.GenericRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+
+/**
+ * A policy for hedging slow async {@link Method#GET} requests: if a request has
+ * not completed after the hedge delay, a duplicate is sent, and the first
+ * response wins, while the other request is cancelled. <br>
+ * The hedge delay is a percentile (by default the 95th) of the latencies of the
+ * recent requests, clamped between a minimum and a maximum, so only the
+ * slowest requests are hedged. Until enough latencies are recorded, an
+ * initial delay is used. <br>
+ * Hedges only use a rate limit permit if one is immediately available;
+ * otherwise, the request is not hedged.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class HedgingPolicy {
+
+    private final LatencyTracker latencies;
+    private final Duration initialDelay;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+
+    private final LongAdder hedgedCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+
+    private HedgingPolicy(Builder builder) {
+        this.latencies = new LatencyTracker(builder.percentile, builder.sampleSize, builder.minimumSamples);
+        this.initialDelay = builder.initialDelay;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+    }
+
+    /**
+     * Creates a {@link Builder} instance for creating a {@link HedgingPolicy}.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks if the {@code request} can be hedged. Only {@link Method#GET GET}
+     * requests, which are idempotent, can be hedged.
+     * 
+     * @param  request the request
+     * @return         if the request can be hedged
+     */
+    public boolean canHedge(GenericRequest request) {
+        return request.method() == Method.GET;
+    }
+
+    /**
+     * @return how long to wait for a response, before sending a hedge
+     */
+    public Duration getHedgeDelay() {
+        final var percentile = latencies.getPercentileNanos();
+        if (percentile < 0) {
+            return initialDelay;
+        }
+        return Duration.ofNanos(Math.max(minDelayNanos, Math.min(maxDelayNanos, percentile)));
+    }
+
+    /**
+     * Records the latency of a request which can be hedged.
+     * 
+     * @param latencyNanos the latency, in nanoseconds
+     */
+    public void recordLatency(long latencyNanos) {
+        latencies.record(latencyNanos);
+    }
+
+    /**
+     * Records that a hedge was sent.
+     */
+    public void onHedge() {
+        hedgedCount.increment();
+    }
+
+    /**
+     * Records that the response of a hedge won.
+     */
+    public void onHedgeWin() {
+        hedgeWinCount.increment();
+    }
+
+    /**
+     * Records that a hedge was not sent, because no rate limit permit was
+     * available.
+     */
+    public void onHedgeSkipped() {
+        skippedCount.increment();
+    }
+
+    /**
+     * @return a snapshot of the metrics of this policy
+     */
+    public Metrics metrics() {
+        return new Metrics(hedgedCount.sum(), hedgeWinCount.sum(), skippedCount.sum(), getHedgeDelay());
+    }
+
+    /**
+     * A snapshot of the metrics of a {@link HedgingPolicy}.
+     * 
+     * @param hedgedCount   the amount of hedges sent
+     * @param hedgeWinCount the amount of hedges which responded first
+     * @param skippedCount  the amount of hedges not sent because no rate limit
+     *                      permit was available
+     * @param hedgeDelay    the current hedge delay
+     */
+    public record Metrics(long hedgedCount, long hedgeWinCount, long skippedCount, Duration hedgeDelay) {
+
+    }
+
+    /**
+     * A builder class used for creating {@link HedgingPolicy} instances.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+
+        private Builder() {
+        }
+
+        private double percentile = 0.95;
+        private int sampleSize = 1000;
+        private int minimumSamples = 100;
+        private Duration initialDelay = Duration.ofMillis(500);
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(5);
+
+        /**
+         * Sets the percentile of the latencies of the recent requests used as the
+         * hedge delay. <br>
+         * By default, this is set to {@code 0.95}.
+         * 
+         * @param  percentile the percentile, in {@code (0, 1)}
+         * @return            the builder instance, for chaining purposes
+         */
+        public Builder percentile(double percentile) {
+            if (percentile <= 0 || percentile >= 1) {
+                throw new IllegalArgumentException("The percentile must be in (0, 1)!");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets how many recent latencies the percentile is computed from, and how
+         * many must be recorded before it is used. <br>
+         * By default, these are set to {@code 1000} and {@code 100}.
+         * 
+         * @param  sampleSize     the amount of recent latencies
+         * @param  minimumSamples the minimum amount of recorded latencies
+         * @return                the builder instance, for chaining purposes
+         */
+        public Builder samples(int sampleSize, int minimumSamples) {
+            if (sampleSize < 1 || minimumSamples < 1 || minimumSamples > sampleSize) {
+                throw new IllegalArgumentException("Invalid sample size or minimum samples!");
+            }
+            this.sampleSize = sampleSize;
+            this.minimumSamples = minimumSamples;
+            return this;
+        }
+
+        /**
+         * Sets the hedge delay used until enough latencies are recorded. <br>
+         * By default, this is set to 500 milliseconds.
+         * 
+         * @param  initialDelay the initial delay
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder initialDelay(Duration initialDelay) {
+            this.initialDelay = Objects.requireNonNull(initialDelay);
+            return this;
+        }
+
+        /**
+         * Sets the bounds of the hedge delay. <br>
+         * By default, these are set to 10 milliseconds and 5 seconds.
+         * 
+         * @param  minDelay the minimum delay
+         * @param  maxDelay the maximum delay
+         * @return          the builder instance, for chaining purposes
+         */
+        public Builder delayBounds(Duration minDelay, Duration maxDelay) {
+            this.minDelay = Objects.requireNonNull(minDelay);
+            this.maxDelay = Objects.requireNonNull(maxDelay);
+            return this;
+        }
+
+        /**
+         * Builds the {@link HedgingPolicy} based on the configurations of this
+         * Builder.
+         * 
+         * @return the policy
+         */
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the latencies of the most recent requests, and periodically computes
+ * a percentile of them.
+ */
+final class LatencyTracker {
+
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final double percentile;
+    private final int minimumSamples;
+    private final long[] samples;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int index;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(double percentile, int sampleSize, int minimumSamples) {
+        this.percentile = percentile;
+        this.minimumSamples = minimumSamples;
+        this.samples = new long[sampleSize];
+    }
+
+    void record(long nanos) {
+        lock.lock();
+        try {
+            samples[index] = nanos;
+            index = (index + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+            if (count >= minimumSamples && ++sinceRecompute >= RECOMPUTE_INTERVAL) {
+                sinceRecompute = 0;
+                final var sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                percentileNanos = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the percentile of the latencies in nanoseconds, or {@code -1} if
+     *         not enough latencies were recorded yet
+     */
+    long getPercentileNanos() {
+        return percentileNanos;
+    }
+}
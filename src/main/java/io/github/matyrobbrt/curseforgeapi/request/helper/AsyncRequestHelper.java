@@ -27,11 +27,15 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.helper;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
 
 import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Priority;
 import io.github.matyrobbrt.curseforgeapi.request.Request;
 import io.github.matyrobbrt.curseforgeapi.request.Requests;
 import io.github.matyrobbrt.curseforgeapi.request.Response;
@@ -60,17 +64,90 @@ import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
 public class AsyncRequestHelper implements IRequestHelper {
 
     private final CurseForgeAPI api;
+    @Nullable
+    private final RequestBatcher<Integer, File> fileBatcher;
+    @Nullable
+    private final RequestBatcher<Integer, Mod> modBatcher;
+    @Nullable
+    private final Priority priority;
 
     public AsyncRequestHelper(CurseForgeAPI api) {
+        this(api, null, null, null);
+    }
+
+    private AsyncRequestHelper(CurseForgeAPI api, @Nullable RequestBatcher<Integer, File> fileBatcher,
+        @Nullable RequestBatcher<Integer, Mod> modBatcher, @Nullable Priority priority) {
         this.api = api;
+        this.fileBatcher = fileBatcher;
+        this.modBatcher = modBatcher;
+        this.priority = priority;
+    }
+
+    /**
+     * Creates a helper whose requests, including the bulk requests of batched
+     * lookups and the pages of paginated requests, are dispatched with the given
+     * {@code priority}. <br>
+     * By default, single requests are dispatched with
+     * {@link Priority#INTERACTIVE}, and the pages of paginated requests with
+     * {@link Priority#BULK}.
+     * 
+     * @param  priority the priority of the requests
+     * @return          the new helper
+     */
+    public AsyncRequestHelper withPriority(Priority priority) {
+        var helper = new AsyncRequestHelper(api, null, null, Objects.requireNonNull(priority));
+        if (fileBatcher != null) {
+            helper = helper.withFileBatching(fileBatcher.getWindow(), fileBatcher.getMaxBatchSize());
+        }
+        if (modBatcher != null) {
+            helper = helper.withModBatching(modBatcher.getWindow(), modBatcher.getMaxBatchSize());
+        }
+        return helper;
+    }
+
+    /**
+     * Creates a helper which batches the {@link #getModFile(int, int)} lookups
+     * into {@link #getFiles(int...) bulk requests}.
+     * 
+     * @param  window       how long to collect lookups for, after the first one
+     * @param  maxBatchSize the maximum amount of files in a bulk request
+     * @return              the new helper
+     * @see                 RequestBatcher
+     */
+    public AsyncRequestHelper withFileBatching(Duration window, int maxBatchSize) {
+        return new AsyncRequestHelper(api, new RequestBatcher<>(ids -> getFiles(toIntArray(ids)), File::id, window, maxBatchSize),
+            modBatcher, priority);
+    }
+
+    /**
+     * Creates a helper which batches the {@link #getMod(int)} lookups into
+     * {@link #getMods(int...) bulk requests}. Concurrent lookups of the same mod
+     * share a single result.
+     * 
+     * @param  window       how long to collect lookups for, after the first one
+     * @param  maxBatchSize the maximum amount of mods in a bulk request; larger
+     *                      batches are split in chunks of this size
+     * @return              the new helper
+     * @see                 RequestBatcher
+     */
+    public AsyncRequestHelper withModBatching(Duration window, int maxBatchSize) {
+        return new AsyncRequestHelper(api, fileBatcher,
+            new RequestBatcher<>(ids -> getMods(toIntArray(ids)), Mod::id, window, maxBatchSize), priority);
     }
 
     /**
      * {@inheritDoc}
+     * 
+     * If this helper {@link #withFileBatching(Duration, int) batches file
+     * lookups}, the file is looked up in the next batch.
      */
     @Override
     public AsyncRequest<Response<File>> getModFile(int modId, int fileId) throws CurseForgeException {
-        return api.makeAsyncRequest(Requests.getModFile(modId, fileId));
+        if (fileBatcher != null) {
+            return fileBatcher.load(fileId)
+                .map(response -> response.isPresent() && response.get().modId() != modId ? Response.empty(404) : response);
+        }
+        return mr(Requests.getModFile(modId, fileId));
     }
 
     /**
@@ -78,7 +155,7 @@ public class AsyncRequestHelper implements IRequestHelper {
      */
     @Override
     public AsyncRequest<Response<List<File>>> getModFiles(int modId) throws CurseForgeException {
-        return api.makeAsyncRequest(Requests.getModFiles(modId));
+        return mr(Requests.getModFiles(modId));
     }
 
     /**
@@ -87,7 +164,7 @@ public class AsyncRequestHelper implements IRequestHelper {
     @Override
     public AsyncRequest<Response<List<File>>> getModFiles(int modId, @Nullable Integer gameVersionTypeId,
         @Nullable PaginationQuery paginationQuery) throws CurseForgeException {
-        return api.makeAsyncRequest(Requests.getModFiles(modId, gameVersionTypeId, paginationQuery));
+        return mr(Requests.getModFiles(modId, gameVersionTypeId, paginationQuery));
     }
 
     /**
@@ -95,7 +172,7 @@ public class AsyncRequestHelper implements IRequestHelper {
      */
     @Override
     public AsyncRequest<Response<List<Category>>> getCategories(int gameId) throws CurseForgeException {
-        return api.makeAsyncRequest(Requests.getCategories(gameId));
+        return mr(Requests.getCategories(gameId));
     }
 
     /**
@@ -103,15 +180,28 @@ public class AsyncRequestHelper implements IRequestHelper {
      */
     @Override
     public AsyncRequest<Response<List<Category>>> getCategories(int gameId, int classId) throws CurseForgeException {
-        return api.makeAsyncRequest(Requests.getCategories(gameId, classId));
+        return mr(Requests.getCategories(gameId, classId));
     }
 
     /**
      * {@inheritDoc}
+     * 
+     * If this helper {@link #withModBatching(Duration, int) batches mod lookups},
+     * the mod is looked up in the next batch.
      */
     @Override
     public AsyncRequest<Response<Mod>> getMod(int modId) throws CurseForgeException {
-        return api.makeAsyncRequest(Requests.getMod(modId));
+        if (modBatcher != null) {
+            return modBatcher.load(modId);
+        }
+        return mr(Requests.getMod(modId));
+    }
+
+    /**
+     * @see Requests#getMods(int...)
+     */
+    public AsyncRequest<Response<List<Mod>>> getMods(int... modIds) throws CurseForgeException {
+        return mr(Requests.getMods(modIds));
     }
 
     /**
@@ -119,7 +209,7 @@ public class AsyncRequestHelper implements IRequestHelper {
      */
     @Override
     public AsyncRequest<Response<List<Mod>>> searchMods(ModSearchQuery query) throws CurseForgeException {
-        return api.makeAsyncRequest(Requests.searchMods(query));
+        return mr(Requests.searchMods(query));
     }
     
     /**
@@ -127,7 +217,80 @@ public class AsyncRequestHelper implements IRequestHelper {
      */
     @Override
     public AsyncRequest<Response<PaginatedData<List<Mod>>>> searchModsPaginated(ModSearchQuery query) throws CurseForgeException {
-        return api.makeAsyncRequest(Requests.searchModsPaginated(query));
+        return mr(Requests.searchModsPaginated(query));
+    }
+
+    /**
+     * Streams the results of the search, page by page. The pages start at the
+     * {@link ModSearchQuery#getIndex() index} of the {@code query}, and have its
+     * {@link ModSearchQuery#getPageSize() page size}, if set. At most
+     * {@link ModSearchQuery#SEARCH_RESULT_WINDOW} results can be streamed.
+     * 
+     * @param  query the query to search
+     * @return       the publisher of the results
+     * @see          PaginatedPublisher
+     */
+    public Flow.Publisher<Mod> searchModsPublisher(ModSearchQuery query) {
+        final var base = query.copy();
+        return new PaginatedPublisher<>(api, pages(
+            (index, pageSize) -> Requests.searchModsPaginated(base.copy().index(index).pageSize(pageSize))),
+            Objects.requireNonNullElse(base.getIndex(), 0),
+            Objects.requireNonNullElse(base.getPageSize(), PaginatedPublisher.DEFAULT_PAGE_SIZE),
+            ModSearchQuery.SEARCH_RESULT_WINDOW);
+    }
+
+    /**
+     * Fetches all the results of the search, with the pages after the first one
+     * fetched concurrently. The pages start at the
+     * {@link ModSearchQuery#getIndex() index} of the {@code query}, and have its
+     * {@link ModSearchQuery#getPageSize() page size}, if set. At most
+     * {@link ModSearchQuery#SEARCH_RESULT_WINDOW} results can be fetched.
+     * 
+     * @param  query               the query to search
+     * @return                     the request, which completes with the results,
+     *                             in order
+     * @throws CurseForgeException
+     * @see                        ParallelPaginator
+     */
+    public AsyncRequest<List<Mod>> searchAllMods(ModSearchQuery query) throws CurseForgeException {
+        final var base = query.copy();
+        return ParallelPaginator.fetchAll(api, pages(
+            (index, pageSize) -> Requests.searchModsPaginated(base.copy().index(index).pageSize(pageSize))),
+            Objects.requireNonNullElse(base.getIndex(), 0),
+            Objects.requireNonNullElse(base.getPageSize(), PaginatedPublisher.DEFAULT_PAGE_SIZE),
+            ModSearchQuery.SEARCH_RESULT_WINDOW);
+    }
+
+    /**
+     * Fetches all the files of the specified mod, with the pages after the first
+     * one fetched concurrently.
+     * 
+     * @param  modId               the mod id the files belong to (project id)
+     * @param  gameVersionTypeId   the game version to search for
+     * @return                     the request, which completes with the files, in
+     *                             order
+     * @throws CurseForgeException
+     * @see                        ParallelPaginator
+     */
+    public AsyncRequest<List<File>> getAllModFiles(int modId, @Nullable Integer gameVersionTypeId)
+        throws CurseForgeException {
+        return ParallelPaginator.fetchAll(api, pages((index, size) -> Requests.getModFilesPaginated(modId,
+            gameVersionTypeId, PaginationQuery.of(index, size))), 0, PaginatedPublisher.DEFAULT_PAGE_SIZE,
+            Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams the files of the specified mod, page by page.
+     * 
+     * @param  modId             the mod id the files belong to (project id)
+     * @param  gameVersionTypeId the game version to search for
+     * @param  pageSize          the amount of files to request at once
+     * @return                   the publisher of the files
+     * @see                      PaginatedPublisher
+     */
+    public Flow.Publisher<File> getModFilesPublisher(int modId, @Nullable Integer gameVersionTypeId, int pageSize) {
+        return new PaginatedPublisher<>(api, pages((index, size) -> Requests.getModFilesPaginated(modId,
+            gameVersionTypeId, PaginationQuery.of(index, size))), 0, pageSize, Integer.MAX_VALUE);
     }
 
     /**
@@ -235,6 +398,18 @@ public class AsyncRequestHelper implements IRequestHelper {
     }
 
     private <T> AsyncRequest<Response<T>> mr(Request<T> req) throws CurseForgeException {
-        return api.makeAsyncRequest(req);
+        return api.makeAsyncRequest(priority == null ? req : req.withPriority(priority));
+    }
+
+    private <T> PageRequestFactory<T> pages(PageRequestFactory<T> factory) {
+        return factory.withPriority(priority == null ? Priority.BULK : priority);
+    }
+
+    private static int[] toIntArray(List<Integer> list) {
+        final var array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
     }
 }
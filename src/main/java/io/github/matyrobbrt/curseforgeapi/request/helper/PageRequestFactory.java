@@ -0,0 +1,65 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.List;
+
+import io.github.matyrobbrt.curseforgeapi.request.Priority;
+import io.github.matyrobbrt.curseforgeapi.request.Request;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+
+/**
+ * A factory of the requests for the pages of a paginated request.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <T> the type of the items of the pages
+ */
+@FunctionalInterface
+public interface PageRequestFactory<T> {
+
+    /**
+     * Creates the request for a page.
+     * 
+     * @param  index    the index of the first item of the page
+     * @param  pageSize the size of the page
+     * @return          the request
+     */
+    Request<PaginatedData<List<T>>> create(int index, int pageSize);
+
+    /**
+     * Creates a factory whose requests are dispatched with the given
+     * {@code priority}.
+     * 
+     * @param  priority the priority of the requests
+     * @return          the factory
+     */
+    default PageRequestFactory<T> withPriority(Priority priority) {
+        return (index, pageSize) -> create(index, pageSize).withPriority(priority);
+    }
+}
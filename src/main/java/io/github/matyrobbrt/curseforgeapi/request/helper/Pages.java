@@ -0,0 +1,102 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.List;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.schemas.Pagination;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+/**
+ * Utilities shared by the helpers which walk the pages of paginated requests.
+ */
+final class Pages {
+
+    /**
+     * The maximum size of a page supported by the CurseForge API.
+     */
+    static final int MAX_PAGE_SIZE = 50;
+
+    private Pages() {
+    }
+
+    /**
+     * Checks that the {@code pageSize} can be requested from the API.
+     * 
+     * @throws IllegalArgumentException if the page size is not between {@code 1}
+     *                                  and {@value #MAX_PAGE_SIZE}
+     */
+    static void checkPageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("The page size must be between 1 and %s!".formatted(MAX_PAGE_SIZE));
+        }
+    }
+
+    /**
+     * Gets the page from the {@code response}.
+     * 
+     * @throws CurseForgeException if the response has no page
+     */
+    static <T> PaginatedData<List<T>> getPage(Response<PaginatedData<List<T>>> response, int index)
+        throws CurseForgeException {
+        final var page = response.orElse(null);
+        if (page == null || page.data() == null) {
+            throw new CurseForgeException("Could not get the page at index %s: status code %s".formatted(index,
+                response.getStatusCode()));
+        }
+        return page;
+    }
+
+    /**
+     * Computes the index of the page following the page at {@code index}.
+     * 
+     * @param  requestedSize the size which was requested for the page
+     * @param  itemCount     the amount of items of the page
+     * @return               the index of the next page, or {@code -1} if this is
+     *                       the last page
+     */
+    static int nextIndex(int index, int requestedSize, int itemCount, @Nullable Pagination pagination,
+        int maxIndex) {
+        final var next = index + itemCount;
+        if (itemCount == 0 || next >= maxIndex) {
+            return -1;
+        }
+        final var totalCount = pagination == null ? null : pagination.totalCount();
+        if (totalCount != null) {
+            return next >= totalCount ? -1 : next;
+        }
+        // Without the total count, a partial page is the last one
+        if (itemCount < requestedSize) {
+            return -1;
+        }
+        return next;
+    }
+}
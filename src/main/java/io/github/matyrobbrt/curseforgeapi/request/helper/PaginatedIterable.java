@@ -0,0 +1,195 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+/**
+ * A lazy {@link Iterable} over the items of a paginated request. <br>
+ * Pages are fetched as the iteration moves past the current one: the next page
+ * is requested as soon as the current one is received, and only the current
+ * page is kept once the iteration moves to the next one. Each iterator walks
+ * the pages on its own. <br>
+ * The iterators block while waiting for a page, and throw a
+ * {@link CurseForgeException.Runtime} if a page cannot be fetched.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <T> the type of the items
+ */
+@ParametersAreNonnullByDefault
+public final class PaginatedIterable<T> implements Iterable<T> {
+
+    private final CurseForgeAPI api;
+    private final PageRequestFactory<T> pageRequestFactory;
+    private final int startIndex;
+    private final int pageSize;
+    private final int maxIndex;
+
+    /**
+     * Creates an iterable.
+     * 
+     * @param api                the API used for sending the page requests
+     * @param pageRequestFactory the factory of the page requests
+     * @param startIndex         the index of the first item
+     * @param pageSize           the size of the pages, between 1 and 50
+     * @param maxIndex           the exclusive maximum index of the items which
+     *                           can be requested, or {@link Integer#MAX_VALUE} if
+     *                           unbounded
+     */
+    public PaginatedIterable(CurseForgeAPI api, PageRequestFactory<T> pageRequestFactory, int startIndex,
+        int pageSize, int maxIndex) {
+        Pages.checkPageSize(pageSize);
+        this.api = Objects.requireNonNull(api);
+        this.pageRequestFactory = Objects.requireNonNull(pageRequestFactory);
+        this.startIndex = startIndex;
+        this.pageSize = pageSize;
+        this.maxIndex = maxIndex;
+    }
+
+    @Override
+    public PageIterator iterator() {
+        return new PageIterator();
+    }
+
+    /**
+     * Creates a sequential {@link Stream} over the items. Closing the stream
+     * cancels the page request in flight.
+     * 
+     * @return the stream
+     */
+    public Stream<T> stream() {
+        final var iterator = iterator();
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(iterator::close);
+    }
+
+    /**
+     * An iterator over the pages of a paginated request.
+     */
+    public final class PageIterator implements Iterator<T>, AutoCloseable {
+
+        private List<T> page = List.of();
+        private int position;
+        @Nullable
+        private AsyncRequest<Response<PaginatedData<List<T>>>> nextPage;
+        private int nextPageIndex;
+        private int nextPageSize;
+
+        private PageIterator() {
+            if (startIndex < maxIndex) {
+                fetch(startIndex);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (position >= page.size()) {
+                if (nextPage == null) {
+                    return false;
+                }
+                advance();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.get(position++);
+        }
+
+        /**
+         * Stops this iteration, cancelling the page request in flight.
+         */
+        @Override
+        public void close() {
+            if (nextPage != null) {
+                nextPage.cancel();
+                nextPage = null;
+            }
+            page = List.of();
+        }
+
+        private void advance() {
+            final var request = nextPage;
+            nextPage = null;
+            final Response<PaginatedData<List<T>>> response;
+            try {
+                response = request.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                request.cancel();
+                throw new CurseForgeException.Runtime(e);
+            } catch (ExecutionException e) {
+                throw new CurseForgeException.Runtime(e.getCause());
+            }
+            try {
+                final var data = Pages.getPage(response, nextPageIndex);
+                page = data.data();
+                position = 0;
+                final var next = Pages.nextIndex(nextPageIndex, nextPageSize, page.size(), data.pagination(),
+                    maxIndex);
+                if (next >= 0) {
+                    fetch(next);
+                }
+            } catch (CurseForgeException e) {
+                throw new CurseForgeException.Runtime(e);
+            }
+        }
+
+        private void fetch(int index) {
+            nextPageIndex = index;
+            nextPageSize = Math.min(pageSize, maxIndex - index);
+            try {
+                nextPage = api.makeAsyncRequest(pageRequestFactory.create(index, nextPageSize));
+            } catch (CurseForgeException e) {
+                throw new CurseForgeException.Runtime(e);
+            }
+        }
+    }
+}
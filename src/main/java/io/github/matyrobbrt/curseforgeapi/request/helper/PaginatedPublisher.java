@@ -0,0 +1,277 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+/**
+ * A {@link Flow.Publisher} which streams the items of a paginated request,
+ * page by page. <br>
+ * The next page is requested as soon as the current one is received, so that
+ * it is loaded while the current one is consumed, but no further: at most two
+ * pages are held in memory for each subscriber. Items are only emitted as
+ * requested by the subscriber, and cancelling the subscription cancels the page
+ * request in flight. <br>
+ * Each subscriber walks the pages on its own.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <T> the type of the items
+ */
+@ParametersAreNonnullByDefault
+public final class PaginatedPublisher<T> implements Flow.Publisher<T> {
+
+    /**
+     * The page size used when none is specified, which is the default page size
+     * of the CurseForge API.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final CurseForgeAPI api;
+    private final PageRequestFactory<T> pageRequestFactory;
+    private final int startIndex;
+    private final int pageSize;
+    private final int maxIndex;
+
+    /**
+     * Creates a publisher.
+     * 
+     * @param api                the API used for sending the page requests
+     * @param pageRequestFactory the factory of the page requests
+     * @param startIndex         the index of the first item
+     * @param pageSize           the size of the pages, between 1 and 50
+     * @param maxIndex           the exclusive maximum index of the items which
+     *                           can be requested, or {@link Integer#MAX_VALUE} if
+     *                           unbounded
+     */
+    public PaginatedPublisher(CurseForgeAPI api, PageRequestFactory<T> pageRequestFactory, int startIndex,
+        int pageSize, int maxIndex) {
+        Pages.checkPageSize(pageSize);
+        this.api = Objects.requireNonNull(api);
+        this.pageRequestFactory = Objects.requireNonNull(pageRequestFactory);
+        this.startIndex = startIndex;
+        this.pageSize = pageSize;
+        this.maxIndex = maxIndex;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        final var subscription = new PageSubscription(Objects.requireNonNull(subscriber));
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        /**
+         * The amount of pending calls to {@link #drain()}. Only the thread which
+         * increments it from {@code 0} drains, so that the subscriber is signalled
+         * serially.
+         */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * The items of the current page. Only accessed while draining.
+         */
+        private final Queue<T> buffer = new ArrayDeque<>();
+        /**
+         * The index of the next page to request, or {@code -1} if there are no
+         * more pages. Written by the page callback before {@link #fetching} is
+         * cleared, and only read while draining, when not fetching.
+         */
+        private int nextIndex = startIndex < maxIndex ? startIndex : -1;
+
+        @Nullable
+        private volatile List<T> readyPage;
+        @Nullable
+        private volatile Throwable error;
+        @Nullable
+        private volatile AsyncRequest<?> inFlight;
+        private volatile boolean fetching;
+        private volatile boolean cancelled;
+        private boolean terminated;
+
+        PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Non-positive subscription request: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> {
+                    final var sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            final var request = inFlight;
+            if (request != null) {
+                request.cancel();
+            }
+            drain();
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (terminated) {
+                    return;
+                }
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                final var requested = demand.get();
+                long emitted = 0;
+                while (emitted != requested && !cancelled) {
+                    final var item = nextItem();
+                    if (item == null) {
+                        break;
+                    }
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+                // The subscriber may cancel while handling an item
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                // Prefetch the next page even without demand, so that it's ready when requested
+                if (buffer.isEmpty()) {
+                    fetchNextPage();
+                }
+                final var failure = error;
+                if (failure != null) {
+                    terminate();
+                    subscriber.onError(failure);
+                    return;
+                }
+                // The page callback sets the page before clearing fetching, so fetching must
+                // be read first: otherwise a page received in between would be missed
+                final var pending = fetching;
+                if (buffer.isEmpty() && !pending && readyPage == null && nextIndex < 0) {
+                    terminated = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void terminate() {
+            terminated = true;
+            buffer.clear();
+            readyPage = null;
+        }
+
+        /**
+         * Polls the next item of the current page, moving to the next page if the
+         * current one is done, and requesting the one after it.
+         */
+        @Nullable
+        private T nextItem() {
+            var item = buffer.poll();
+            if (item == null) {
+                final var page = readyPage;
+                if (page != null) {
+                    readyPage = null;
+                    buffer.addAll(page);
+                    item = buffer.poll();
+                }
+                fetchNextPage();
+            }
+            return item;
+        }
+
+        private void fetchNextPage() {
+            if (fetching || readyPage != null || nextIndex < 0) {
+                return;
+            }
+            final var index = nextIndex;
+            final var size = Math.min(pageSize, maxIndex - index);
+            fetching = true;
+            final AsyncRequest<Response<PaginatedData<List<T>>>> request;
+            try {
+                request = api.makeAsyncRequest(pageRequestFactory.create(index, size));
+            } catch (CurseForgeException | RuntimeException e) {
+                fetching = false;
+                error = e;
+                return;
+            }
+            inFlight = request;
+            request.queue(response -> onPage(index, size, response), t -> {
+                inFlight = null;
+                error = t;
+                fetching = false;
+                drain();
+            });
+        }
+
+        private void onPage(int index, int size, Response<PaginatedData<List<T>>> response) {
+            inFlight = null;
+            try {
+                final var page = Pages.getPage(response, index);
+                nextIndex = Pages.nextIndex(index, size, page.data().size(), page.pagination(), maxIndex);
+                readyPage = page.data();
+            } catch (CurseForgeException e) {
+                error = e;
+            }
+            fetching = false;
+            drain();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.request.async.OfCompletableFutureAsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+/**
+ * Fetches all the pages of a paginated request at once. <br>
+ * The first page is fetched alone, and its
+ * {@link io.github.matyrobbrt.curseforgeapi.schemas.Pagination#totalCount()
+ * total count} is used for computing the indexes of the remaining pages, which
+ * are then fetched concurrently, through a sliding window: at most
+ * {@code maxConcurrentPages} pages are in flight, and the next page is requested
+ * as soon as one completes. The pages are sent through the
+ * {@link CurseForgeAPI} like any other request, so they are subject to its
+ * scheduler, rate limiter and concurrency limiter.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class ParallelPaginator {
+
+    /**
+     * The default maximum amount of pages fetched at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_PAGES = 4;
+
+    private ParallelPaginator() {
+    }
+
+    /**
+     * Fetches all the items of a paginated request, fetching at most
+     * {@link #DEFAULT_MAX_CONCURRENT_PAGES} pages at the same time.
+     * 
+     * @param  <T>                the type of the items
+     * @param  api                the API used for sending the page requests
+     * @param  pageRequestFactory the factory of the page requests
+     * @param  startIndex         the index of the first item
+     * @param  pageSize           the size of the pages, between 1 and 50
+     * @param  maxIndex           the exclusive maximum index of the items which
+     *                            can be requested, or {@link Integer#MAX_VALUE}
+     *                            if unbounded
+     * @return                    a request which completes with the items of all
+     *                            the pages, in order. The request fails if any
+     *                            page cannot be fetched
+     * @throws CurseForgeException if the request of the first page could not be
+     *                             made
+     */
+    public static <T> AsyncRequest<List<T>> fetchAll(CurseForgeAPI api, PageRequestFactory<T> pageRequestFactory,
+        int startIndex, int pageSize, int maxIndex) throws CurseForgeException {
+        return fetchAll(api, pageRequestFactory, startIndex, pageSize, maxIndex, DEFAULT_MAX_CONCURRENT_PAGES);
+    }
+
+    /**
+     * Fetches all the items of a paginated request.
+     * 
+     * @param  <T>                the type of the items
+     * @param  api                the API used for sending the page requests
+     * @param  pageRequestFactory the factory of the page requests
+     * @param  startIndex         the index of the first item
+     * @param  pageSize           the size of the pages, between 1 and 50
+     * @param  maxIndex           the exclusive maximum index of the items which
+     *                            can be requested, or {@link Integer#MAX_VALUE}
+     *                            if unbounded
+     * @param  maxConcurrentPages the maximum amount of pages fetched at the same
+     *                            time
+     * @return                    a request which completes with the items of all
+     *                            the pages, in order. The request fails if any
+     *                            page cannot be fetched
+     * @throws CurseForgeException if the request of the first page could not be
+     *                             made
+     */
+    public static <T> AsyncRequest<List<T>> fetchAll(CurseForgeAPI api, PageRequestFactory<T> pageRequestFactory,
+        int startIndex, int pageSize, int maxIndex, int maxConcurrentPages) throws CurseForgeException {
+        Pages.checkPageSize(pageSize);
+        if (maxConcurrentPages < 1) {
+            throw new IllegalArgumentException("The maximum amount of concurrent pages must be positive!");
+        }
+        if (startIndex >= maxIndex) {
+            return AsyncRequest.of(List.of());
+        }
+        final var firstSize = Math.min(pageSize, maxIndex - startIndex);
+        return api.makeAsyncRequest(pageRequestFactory.create(startIndex, firstSize)).flatMapWithException(response -> {
+            final var first = Pages.getPage(response, startIndex);
+            final var pagination = first.pagination();
+            final var index = Pages.nextIndex(startIndex, firstSize, first.data().size(), pagination, maxIndex);
+            // Without the total count, the remaining pages are unknown
+            if (index < 0 || pagination == null || pagination.totalCount() == null) {
+                return AsyncRequest.of(List.copyOf(first.data()));
+            }
+            final var end = Math.min(pagination.totalCount(), maxIndex);
+            // The API may return less items than requested, in which case the pages are as large as the first one
+            return new Window<>(api, pageRequestFactory, first.data(), index, end, first.data().size(),
+                maxConcurrentPages).start();
+        });
+    }
+
+    /**
+     * Fetches the pages following the first one, keeping at most
+     * {@link #maxConcurrentPages} of them in flight.
+     */
+    private static final class Window<T> {
+
+        private final CurseForgeAPI api;
+        private final PageRequestFactory<T> pageRequestFactory;
+        private final List<T> first;
+        private final int startIndex;
+        private final int end;
+        private final int stride;
+        private final int maxConcurrentPages;
+        private final int pageCount;
+
+        private final AtomicReferenceArray<List<T>> pages;
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        private final Set<AsyncRequest<?>> inFlight = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlightCount = new AtomicInteger();
+        private final AtomicInteger remaining;
+        /**
+         * The amount of pending calls to {@link #fill()}. Only the thread which
+         * increments it from {@code 0} sends pages, so that a page completing
+         * synchronously doesn't recurse.
+         */
+        private final AtomicInteger wip = new AtomicInteger();
+        /**
+         * The next page to send. Only accessed while filling.
+         */
+        private int nextPage;
+
+        Window(CurseForgeAPI api, PageRequestFactory<T> pageRequestFactory, List<T> first, int startIndex, int end,
+            int stride, int maxConcurrentPages) {
+            this.api = api;
+            this.pageRequestFactory = pageRequestFactory;
+            this.first = first;
+            this.startIndex = startIndex;
+            this.end = end;
+            this.stride = stride;
+            this.maxConcurrentPages = maxConcurrentPages;
+            this.pageCount = (end - startIndex + stride - 1) / stride;
+            this.pages = new AtomicReferenceArray<>(pageCount);
+            this.remaining = new AtomicInteger(pageCount);
+        }
+
+        AsyncRequest<List<T>> start() {
+            result.whenComplete((items, t) -> {
+                // Failed or cancelled, so the pages still in flight aren't needed anymore
+                if (t != null) {
+                    inFlight.forEach(AsyncRequest::cancel);
+                }
+            });
+            fill();
+            return new OfCompletableFutureAsyncRequest<>(result);
+        }
+
+        private void fill() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (nextPage < pageCount && inFlightCount.get() < maxConcurrentPages && !result.isDone()) {
+                    send(nextPage++);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void send(int page) {
+            final var index = startIndex + page * stride;
+            final AsyncRequest<Response<PaginatedData<List<T>>>> request;
+            try {
+                request = api.makeAsyncRequest(pageRequestFactory.create(index, Math.min(stride, end - index)));
+            } catch (CurseForgeException | RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            inFlightCount.incrementAndGet();
+            inFlight.add(request);
+            request.queue(response -> {
+                inFlight.remove(request);
+                inFlightCount.decrementAndGet();
+                // The page is read here, as exceptions thrown by the callbacks of queue are not reported
+                final List<T> data;
+                try {
+                    data = Pages.getPage(response, index).data();
+                } catch (CurseForgeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                pages.set(page, data);
+                if (remaining.decrementAndGet() == 0) {
+                    complete();
+                } else {
+                    fill();
+                }
+            }, t -> {
+                inFlight.remove(request);
+                inFlightCount.decrementAndGet();
+                result.completeExceptionally(t);
+            });
+            // Failed while sending
+            if (result.isDone()) {
+                request.cancel();
+            }
+        }
+
+        private void complete() {
+            final var items = new ArrayList<T>(first);
+            for (int i = 0; i < pageCount; i++) {
+                items.addAll(pages.get(i));
+            }
+            result.complete(Collections.unmodifiableList(items));
+        }
+    }
+}
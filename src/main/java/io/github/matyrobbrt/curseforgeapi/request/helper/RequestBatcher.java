@@ -0,0 +1,256 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.request.async.AsyncRequestValues;
+import io.github.matyrobbrt.curseforgeapi.request.async.OfCompletableFutureAsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+import io.github.matyrobbrt.curseforgeapi.util.ExceptionFunction;
+import io.github.matyrobbrt.curseforgeapi.util.Utils;
+
+/**
+ * Coalesces single lookups into bulk requests. Lookups are collected for a
+ * {@link #getWindow() window} after the first one, or until
+ * {@link #getMaxBatchSize() the maximum batch size} is reached, and are then
+ * loaded with a single bulk request. Lookups of a key which is already waiting
+ * for the next batch share its result. <br>
+ * A key missing from the bulk response is resolved with an empty
+ * {@link Response} with the status code {@code 404}.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <K> the type of the keys
+ * @param  <V> the type of the loaded values
+ */
+@ParametersAreNonnullByDefault
+public final class RequestBatcher<K, V> {
+
+    private final ExceptionFunction<List<K>, AsyncRequest<Response<List<V>>>, CurseForgeException> bulkRequest;
+    private final Function<? super V, ? extends K> keyExtractor;
+    private final Duration window;
+    private final int maxBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<K, Lookup<V>> pending = new LinkedHashMap<>();
+    @Nullable
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Creates a new batcher.
+     * 
+     * @param bulkRequest  a function making the bulk request for the given keys
+     * @param keyExtractor a function which gets the key of a loaded value
+     * @param window       how long to collect lookups for, after the first one
+     * @param maxBatchSize the maximum amount of keys in a bulk request
+     */
+    public RequestBatcher(ExceptionFunction<List<K>, AsyncRequest<Response<List<V>>>, CurseForgeException> bulkRequest,
+        Function<? super V, ? extends K> keyExtractor, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size must be positive!");
+        }
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("The batching window cannot be negative!");
+        }
+        this.bulkRequest = Objects.requireNonNull(bulkRequest);
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queues the lookup of the given {@code key} in the next batch.
+     * 
+     * @param  key the key to look up
+     * @return     a request which completes when the batch containing the key is
+     *             loaded. Cancelling it doesn't affect the other lookups of the
+     *             key, and the bulk request is only cancelled once all the
+     *             lookups in its batch are
+     */
+    public AsyncRequest<Response<V>> load(K key) {
+        Objects.requireNonNull(key);
+        Map<K, Lookup<V>> toFlush = null;
+        final Lookup<V> lookup;
+        lock.lock();
+        try {
+            final var existing = pending.get(key);
+            if (existing != null && existing.tryJoin()) {
+                lookup = existing;
+            } else {
+                // All the previous lookups of the key were cancelled, if any
+                lookup = new Lookup<>();
+                pending.put(key, lookup);
+                if (pending.size() >= maxBatchSize) {
+                    toFlush = takePending();
+                } else if (scheduledFlush == null) {
+                    scheduledFlush = AsyncRequestValues.schedule(this::flush, window.toNanos(),
+                        AsyncRequestValues.getFutureExecutor());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (toFlush != null) {
+            dispatch(toFlush);
+        }
+        return new OfCompletableFutureAsyncRequest<>(lookup.subscribe());
+    }
+
+    /**
+     * Immediately sends the lookups waiting for the next batch.
+     */
+    public void flush() {
+        final Map<K, Lookup<V>> toFlush;
+        lock.lock();
+        try {
+            toFlush = takePending();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(toFlush);
+    }
+
+    private Map<K, Lookup<V>> takePending() {
+        final var taken = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return taken;
+    }
+
+    private void dispatch(Map<K, Lookup<V>> batch) {
+        // Don't look up the keys whose lookups were all cancelled
+        batch.values().removeIf(lookup -> lookup.future.isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+        final AsyncRequest<Response<List<V>>> request;
+        try {
+            request = bulkRequest.apply(new ArrayList<>(batch.keySet()));
+        } catch (Throwable t) {
+            batch.values().forEach(l -> l.future.completeExceptionally(t));
+            return;
+        }
+        final var sent = request.toCompletableFuture();
+        sent.whenComplete((response, t) -> {
+            if (t != null) {
+                batch.values().forEach(l -> l.future.completeExceptionally(t));
+            } else {
+                complete(batch, response);
+            }
+        });
+        // Once all the lookups of the batch are cancelled, the bulk request is no longer needed
+        final var remaining = new AtomicInteger(batch.size());
+        batch.values().forEach(l -> l.future.whenComplete((response, t) -> {
+            if (l.future.isCancelled() && remaining.decrementAndGet() == 0) {
+                sent.cancel(true);
+            }
+        }));
+    }
+
+    private void complete(Map<K, Lookup<V>> batch, Response<List<V>> response) {
+        if (response.isEmpty()) {
+            batch.values().forEach(l -> l.future.complete(Response.empty(response.getStatusCode())));
+            return;
+        }
+        for (final var value : response.get()) {
+            final var lookup = batch.get(keyExtractor.apply(value));
+            if (lookup != null) {
+                lookup.future.complete(Response.of(value, response.getStatusCode()));
+            }
+        }
+        // Any keys which weren't in the response don't exist
+        batch.values().forEach(l -> l.future.complete(Response.empty(404)));
+    }
+
+    /**
+     * The lookup of a key, shared by its callers. Each caller gets its own
+     * future, and the lookup is only cancelled once all of them cancel theirs.
+     */
+    private static final class Lookup<V> {
+
+        private final CompletableFuture<Response<V>> future = new CompletableFuture<>();
+        private final AtomicInteger subscribers = new AtomicInteger(1);
+
+        /**
+         * Joins this lookup, unless all of its subscribers cancelled it.
+         */
+        boolean tryJoin() {
+            int count;
+            do {
+                count = subscribers.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!subscribers.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        CompletableFuture<Response<V>> subscribe() {
+            final var subscription = new CompletableFuture<Response<V>>();
+            Utils.completeFrom(subscription, future);
+            subscription.whenComplete((response, t) -> {
+                if (subscription.isCancelled() && subscribers.decrementAndGet() == 0) {
+                    future.cancel(true);
+                }
+            });
+            return subscription;
+        }
+    }
+
+    /**
+     * @return how long lookups are collected for, after the first one
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * @return the maximum amount of keys in a bulk request
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+}
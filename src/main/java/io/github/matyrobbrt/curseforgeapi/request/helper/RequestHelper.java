@@ -28,9 +28,11 @@
 package io.github.matyrobbrt.curseforgeapi.request.helper;
 
 import java.util.List;
+import java.util.Objects;
 
 import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.Priority;
 import io.github.matyrobbrt.curseforgeapi.request.Request;
 import io.github.matyrobbrt.curseforgeapi.request.Requests;
 import io.github.matyrobbrt.curseforgeapi.request.Response;
@@ -59,9 +61,30 @@ import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
 public class RequestHelper implements IRequestHelper {
 
     private final CurseForgeAPI api;
+    @Nullable
+    private final Priority priority;
 
     public RequestHelper(CurseForgeAPI api) {
+        this(api, null);
+    }
+
+    private RequestHelper(CurseForgeAPI api, @Nullable Priority priority) {
         this.api = api;
+        this.priority = priority;
+    }
+
+    /**
+     * Creates a helper whose requests, including the pages of paginated requests,
+     * are dispatched with the given {@code priority}. <br>
+     * By default, single requests are dispatched with
+     * {@link Priority#INTERACTIVE}, and the pages of paginated requests with
+     * {@link Priority#BULK}.
+     * 
+     * @param  priority the priority of the requests
+     * @return          the new helper
+     */
+    public RequestHelper withPriority(Priority priority) {
+        return new RequestHelper(api, Objects.requireNonNull(priority));
     }
 
     /**
@@ -69,7 +92,7 @@ public class RequestHelper implements IRequestHelper {
      */
     @Override
     public Response<File> getModFile(int modId, int fileId) throws CurseForgeException {
-        return api.makeRequest(Requests.getModFile(modId, fileId));
+        return mr(Requests.getModFile(modId, fileId));
     }
 
     /**
@@ -77,7 +100,7 @@ public class RequestHelper implements IRequestHelper {
      */
     @Override
     public Response<List<File>> getModFiles(int modId) throws CurseForgeException {
-        return api.makeRequest(Requests.getModFiles(modId));
+        return mr(Requests.getModFiles(modId));
     }
 
     /**
@@ -86,7 +109,24 @@ public class RequestHelper implements IRequestHelper {
     @Override
     public Response<List<File>> getModFiles(int modId, @Nullable Integer gameVersionTypeId, @Nullable PaginationQuery paginationQuery)
         throws CurseForgeException {
-        return api.makeRequest(Requests.getModFiles(modId, gameVersionTypeId, paginationQuery));
+        return mr(Requests.getModFiles(modId, gameVersionTypeId, paginationQuery));
+    }
+
+    /**
+     * Iterates over all the files of the specified mod, lazily fetching them page
+     * by page, as the iteration moves past the current page.
+     * 
+     * @param  modId             the mod id the files belong to (project id)
+     * @param  gameVersionTypeId the game version to search for
+     * @param  pageSize          the amount of files to request at once
+     * @return                   the iterable of the files
+     * @see                      PaginatedIterable
+     */
+    public PaginatedIterable<File> iterateModFiles(int modId, @Nullable Integer gameVersionTypeId, int pageSize) {
+        final PageRequestFactory<File> pages = (index, size) -> Requests.getModFilesPaginated(modId,
+            gameVersionTypeId, PaginationQuery.of(index, size));
+        return new PaginatedIterable<>(api, pages.withPriority(priority == null ? Priority.BULK : priority), 0, pageSize,
+            Integer.MAX_VALUE);
     }
 
     /**
@@ -94,7 +134,7 @@ public class RequestHelper implements IRequestHelper {
      */
     @Override
     public Response<List<Category>> getCategories(int gameId) throws CurseForgeException {
-        return api.makeRequest(Requests.getCategories(gameId));
+        return mr(Requests.getCategories(gameId));
     }
 
     /**
@@ -102,7 +142,7 @@ public class RequestHelper implements IRequestHelper {
      */
     @Override
     public Response<List<Category>> getCategories(int gameId, int classId) throws CurseForgeException {
-        return api.makeRequest(Requests.getCategories(gameId, classId));
+        return mr(Requests.getCategories(gameId, classId));
     }
 
     /**
@@ -110,7 +150,14 @@ public class RequestHelper implements IRequestHelper {
      */
     @Override
     public Response<Mod> getMod(int modId) throws CurseForgeException {
-        return api.makeRequest(Requests.getMod(modId));
+        return mr(Requests.getMod(modId));
+    }
+
+    /**
+     * @see Requests#getMods(int...)
+     */
+    public Response<List<Mod>> getMods(int... modIds) throws CurseForgeException {
+        return mr(Requests.getMods(modIds));
     }
     
     /**
@@ -118,7 +165,7 @@ public class RequestHelper implements IRequestHelper {
      */
     @Override
     public Response<List<Mod>> searchMods(ModSearchQuery query) throws CurseForgeException {
-        return api.makeRequest(Requests.searchMods(query));
+        return mr(Requests.searchMods(query));
     }
     
     /**
@@ -126,7 +173,7 @@ public class RequestHelper implements IRequestHelper {
      */
     @Override
     public Response<PaginatedData<List<Mod>>> searchModsPaginated(ModSearchQuery query) throws CurseForgeException {
-        return api.makeRequest(Requests.searchModsPaginated(query));
+        return mr(Requests.searchModsPaginated(query));
     }
 
     /**
@@ -234,7 +281,7 @@ public class RequestHelper implements IRequestHelper {
     }
     
     private <T> Response<T> mr(Request<T> req) throws CurseForgeException {
-        return api.makeRequest(req);
+        return api.makeRequest(priority == null ? req : req.withPriority(priority));
     }
 
 }
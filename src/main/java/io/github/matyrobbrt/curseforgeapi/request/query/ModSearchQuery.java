@@ -28,13 +28,12 @@
 package io.github.matyrobbrt.curseforgeapi.request.query;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.CurseForgeSchema;
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.request.Arguments;
 import io.github.matyrobbrt.curseforgeapi.schemas.Category;
 import io.github.matyrobbrt.curseforgeapi.schemas.game.Game;
 import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModLoaderType;
 
-import static io.github.matyrobbrt.curseforgeapi.util.Utils.encodeURL;
-
 /**
  * A builders for mod search queries.
  * 
@@ -44,6 +43,12 @@ import static io.github.matyrobbrt.curseforgeapi.util.Utils.encodeURL;
 @CurseForgeSchema("https://docs.curseforge.com/#search-mods")
 public final class ModSearchQuery implements Query {
 
+    /**
+     * The maximum amount of results a search can page through: the
+     * {@code index + pageSize} of a search cannot be greater than this.
+     */
+    public static final int SEARCH_RESULT_WINDOW = 10_000;
+
     public static ModSearchQuery of(Game game) {
         return of(game.id());
     }
@@ -196,18 +201,55 @@ public final class ModSearchQuery implements Query {
         return this;
     }
 
+    /**
+     * @return the index of the first item to include in the response, or
+     *         {@code null} if not set
+     */
+    @Nullable
+    public Integer getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the number of items to include in the response, or {@code null} if
+     *         not set
+     */
+    @Nullable
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return a copy of this query, which can be modified independently
+     */
+    public ModSearchQuery copy() {
+        final var copy = new ModSearchQuery(gameId);
+        copy.classId = classId;
+        copy.categoryId = categoryId;
+        copy.gameVersion = gameVersion;
+        copy.searchFilter = searchFilter;
+        copy.sortField = sortField;
+        copy.sortOrder = sortOrder;
+        copy.modLoaderType = modLoaderType;
+        copy.gameVersionTypeId = gameVersionTypeId;
+        copy.slug = slug;
+        copy.index = index;
+        copy.pageSize = pageSize;
+        return copy;
+    }
+
     @Override
     public Arguments toArgs() {
         return Arguments.of("gameId", gameId)
             .put("classId", classId)
             .put("categoryId", categoryId)
-            .put("gameVersion", encodeURL(gameVersion))
-            .put("searchFilter", encodeURL(searchFilter))
+            .put("gameVersion", gameVersion)
+            .put("searchFilter", searchFilter)
             .put("sortField", sortField == null ? null : sortField.ordinal() + 1)
             .put("sortOrder", sortOrder == null ? null : sortOrder.toString())
             .put("modLoaderType", modLoaderType == null ? null : modLoaderType.ordinal())
             .put("gameVersionTypeId", gameVersionTypeId)
-            .put("slug", encodeURL(slug))
+            .put("slug", slug)
             .put("index", index)
             .put("pageSize", pageSize);
     }
@@ -0,0 +1,300 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.async.AsyncRequestValues;
+
+/**
+ * A client-side rate limiter for requests, using token buckets. A request
+ * needs a permit from the global bucket, if configured, and from the bucket of
+ * its endpoint family, if any. Endpoint families are configured by endpoint
+ * prefix, like {@code /v1/mods}, and the longest matching prefix is used. <br>
+ * While permits are available, acquiring one is a single atomic operation.
+ * Once the limit is reached, permits are reserved in order, and requests wait
+ * for their turn instead of failing.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class RateLimiter {
+
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+    @Nullable
+    private final TokenBucket global;
+    private final Map<String, TokenBucket> families;
+    private final Duration maxBlockingWait;
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder delayedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder queueDepth = new LongAdder();
+
+    private RateLimiter(@Nullable TokenBucket global, Map<String, TokenBucket> families, Duration maxBlockingWait) {
+        this.global = global;
+        this.families = Map.copyOf(families);
+        this.maxBlockingWait = maxBlockingWait;
+    }
+
+    /**
+     * Creates a {@link Builder} instance for creating a {@link RateLimiter}.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Acquires a permit for a request to the {@code endpoint}, waiting for as
+     * long as needed.
+     * 
+     * @param  endpoint the endpoint of the request
+     * @return          a future which completes when the request can be sent.
+     *                  Cancelling it gives the reserved permit back
+     */
+    public CompletableFuture<Void> acquire(String endpoint) {
+        return Objects.requireNonNull(acquire(endpoint, Long.MAX_VALUE));
+    }
+
+    /**
+     * Acquires a permit for a request to the {@code endpoint}, if it is available
+     * within the {@code maxWait}.
+     * 
+     * @param  endpoint the endpoint of the request
+     * @param  maxWait  the maximum amount of time to wait for the permit
+     * @return          a future which completes when the request can be sent, or
+     *                  {@code null} if the permit is not available within the
+     *                  {@code maxWait}. Cancelling the future gives the reserved
+     *                  permit back
+     */
+    @Nullable
+    public CompletableFuture<Void> acquire(String endpoint, Duration maxWait) {
+        return acquire(endpoint, maxWait.toNanos());
+    }
+
+    /**
+     * Acquires a permit for a request to the {@code endpoint}, only if it is
+     * available immediately.
+     * 
+     * @param  endpoint the endpoint of the request
+     * @return          if the permit was acquired
+     */
+    public boolean tryAcquire(String endpoint) {
+        return acquire(endpoint, 0) != null;
+    }
+
+    @Nullable
+    private CompletableFuture<Void> acquire(String endpoint, long maxDelay) {
+        final var now = System.nanoTime();
+        long delay = 0;
+        if (global != null) {
+            delay = global.reserve(now, maxDelay);
+            if (delay < 0) {
+                rejectedCount.increment();
+                return null;
+            }
+        }
+        final var family = getFamily(endpoint);
+        if (family != null) {
+            final var familyDelay = family.reserve(now, maxDelay);
+            if (familyDelay < 0) {
+                if (global != null) {
+                    global.refund();
+                }
+                rejectedCount.increment();
+                return null;
+            }
+            delay = Math.max(delay, familyDelay);
+        }
+        acquiredCount.increment();
+        if (delay == 0) {
+            return ACQUIRED;
+        }
+        delayedCount.increment();
+        totalWaitNanos.add(delay);
+        maxWaitNanos.accumulate(delay);
+        queueDepth.increment();
+        final var permit = new CompletableFuture<Void>();
+        // The request is sent by the task, so it is handed off from the shared scheduler
+        final var scheduled = AsyncRequestValues.getScheduler().schedule(() -> permit.completeAsync(() -> null),
+            delay, TimeUnit.NANOSECONDS);
+        permit.whenComplete((v, t) -> {
+            queueDepth.decrement();
+            if (permit.isCancelled()) {
+                // The reserved permit will not be used, so give it back
+                scheduled.cancel(false);
+                if (global != null) {
+                    global.refund();
+                }
+                if (family != null) {
+                    family.refund();
+                }
+            }
+        });
+        return permit;
+    }
+
+    @Nullable
+    private TokenBucket getFamily(String endpoint) {
+        TokenBucket bucket = null;
+        var matchLength = -1;
+        for (final var entry : families.entrySet()) {
+            final var prefix = entry.getKey();
+            if (prefix.length() > matchLength && endpoint.startsWith(prefix)) {
+                bucket = entry.getValue();
+                matchLength = prefix.length();
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * @return the maximum amount of time blocking requests wait for a permit,
+     *         before failing
+     */
+    public Duration getMaxBlockingWait() {
+        return maxBlockingWait;
+    }
+
+    /**
+     * @return a snapshot of the metrics of this limiter
+     */
+    public Metrics metrics() {
+        return new Metrics(acquiredCount.sum(), delayedCount.sum(), rejectedCount.sum(),
+            Duration.ofNanos(totalWaitNanos.sum()), Duration.ofNanos(maxWaitNanos.get()), queueDepth.intValue());
+    }
+
+    /**
+     * A snapshot of the metrics of a {@link RateLimiter}.
+     * 
+     * @param acquiredCount the amount of permits acquired
+     * @param delayedCount  the amount of permits which were not immediately
+     *                      available
+     * @param rejectedCount the amount of permits which were not available within
+     *                      the maximum wait
+     * @param totalWait     the total time requests waited for permits
+     * @param maxWait       the longest time a request waited for a permit
+     * @param queueDepth    the amount of requests currently waiting for a permit
+     */
+    public record Metrics(long acquiredCount, long delayedCount, long rejectedCount, Duration totalWait,
+        Duration maxWait, int queueDepth) {
+
+        /**
+         * @return the average time a request waited for a permit
+         */
+        public Duration averageWait() {
+            return acquiredCount == 0 ? Duration.ZERO : totalWait.dividedBy(acquiredCount);
+        }
+    }
+
+    /**
+     * A builder class used for creating {@link RateLimiter} instances.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+
+        private Builder() {
+        }
+
+        @Nullable
+        private TokenBucket global;
+        private final Map<String, TokenBucket> families = new HashMap<>();
+        private Duration maxBlockingWait = Duration.ofSeconds(30);
+
+        /**
+         * Limits all the requests.
+         * 
+         * @param  permitsPerSecond the sustained amount of requests per second
+         * @param  burst            the maximum amount of requests which can be sent
+         *                          at once, after a period of inactivity
+         * @return                  the builder instance, for chaining purposes
+         */
+        public Builder global(double permitsPerSecond, int burst) {
+            this.global = new TokenBucket(permitsPerSecond, burst);
+            return this;
+        }
+
+        /**
+         * Limits the requests to the endpoints starting with the
+         * {@code endpointPrefix}, like {@code /v1/mods}. These requests are also
+         * limited by the {@link #global(double, int) global limit}, if configured.
+         * 
+         * @param  endpointPrefix   the prefix of the endpoints
+         * @param  permitsPerSecond the sustained amount of requests per second
+         * @param  burst            the maximum amount of requests which can be sent
+         *                          at once, after a period of inactivity
+         * @return                  the builder instance, for chaining purposes
+         */
+        public Builder family(String endpointPrefix, double permitsPerSecond, int burst) {
+            families.put(Objects.requireNonNull(endpointPrefix), new TokenBucket(permitsPerSecond, burst));
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of time blocking requests wait for a permit.
+         * Blocking requests which would wait longer fail immediately instead. Async
+         * requests always wait for their turn. <br>
+         * By default, this is set to 30 seconds.
+         * 
+         * @param  maxBlockingWait the maximum wait
+         * @return                 the builder instance, for chaining purposes
+         */
+        public Builder maxBlockingWait(Duration maxBlockingWait) {
+            this.maxBlockingWait = Objects.requireNonNull(maxBlockingWait);
+            return this;
+        }
+
+        /**
+         * Builds the {@link RateLimiter} based on the configurations of this
+         * Builder.
+         * 
+         * @return the rate limiter
+         */
+        public RateLimiter build() {
+            return new RateLimiter(global, families, maxBlockingWait);
+        }
+    }
+}
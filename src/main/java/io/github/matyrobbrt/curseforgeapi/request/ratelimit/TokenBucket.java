@@ -0,0 +1,90 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket, implemented as a generic cell rate algorithm. The
+ * bucket stores the theoretical time at which it will be full again, and
+ * permits are reserved by advancing that time, so permits are handed out in
+ * the order they were reserved.
+ */
+final class TokenBucket {
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond the rate at which permits are refilled
+     * @param burst            the maximum amount of permits available at once
+     */
+    TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("The amount of permits per second must be positive!");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("The burst must be positive!");
+        }
+        this.interval = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.tolerance = interval * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - interval * burst);
+    }
+
+    /**
+     * Reserves a permit.
+     * 
+     * @param  now      the current {@link System#nanoTime() time}
+     * @param  maxDelay the maximum amount of nanoseconds the caller is willing
+     *                  to wait for the permit
+     * @return          the amount of nanoseconds to wait until the permit can be
+     *                  used, or {@code -1} if that exceeds the {@code maxDelay},
+     *                  in which case no permit is reserved
+     */
+    long reserve(long now, long maxDelay) {
+        while (true) {
+            final var current = theoreticalArrival.get();
+            final var arrival = Math.max(current, now);
+            final var delay = Math.max(0, arrival - now - tolerance);
+            if (delay > maxDelay) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + interval)) {
+                return delay;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit which was reserved, but will not be used.
+     */
+    void refund() {
+        theoreticalArrival.addAndGet(-interval);
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.retry;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.GenericRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * A policy deciding if, and when, failed requests are retried. Requests are
+ * retried when they fail with an {@link IOException}, or respond with a
+ * retryable status code, like {@link StatusCodes#API_UNAVAILABLE 503}. <br>
+ * Retries are delayed using exponential backoff with full jitter, unless the
+ * response specifies a {@code Retry-After}. <br>
+ * Only idempotent requests are retried. By default, these are {@code GET}
+ * requests and the {@code POST} lookups of the CurseForge API, like
+ * {@link io.github.matyrobbrt.curseforgeapi.request.Requests#getFingerprintMatches(int...)
+ * fingerprint matches}. <br>
+ * In order to not amplify traffic during incidents, retries are limited by a
+ * budget: each request adds a fraction of a retry to it, up to a maximum, and
+ * each retry takes a whole one.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class RetryPolicy {
+
+    /**
+     * The default idempotence of requests: {@code GET} requests, and the
+     * {@code POST} requests of the CurseForge API which only look up data.
+     */
+    public static final Predicate<GenericRequest> DEFAULT_IDEMPOTENCE = request -> switch (request.method()) {
+    case GET -> true;
+    case POST -> request.endpoint().equals("/v1/mods") || request.endpoint().startsWith("/v1/mods/files")
+        || request.endpoint().startsWith("/v1/mods/featured") || request.endpoint().startsWith("/v1/fingerprints");
+    case PUT -> false;
+    };
+
+    private static final long TOKEN_SCALE = 1000;
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Set<Integer> retryableStatusCodes;
+    private final Predicate<GenericRequest> idempotence;
+    private final long budgetDeposit;
+    private final long maxBudget;
+
+    private final AtomicLong budget;
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder budgetExhaustedCount = new LongAdder();
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelay = builder.baseDelay;
+        this.maxDelay = builder.maxDelay;
+        this.retryableStatusCodes = Set.copyOf(builder.retryableStatusCodes);
+        this.idempotence = builder.idempotence;
+        this.budgetDeposit = (long) (builder.budgetRatio * TOKEN_SCALE);
+        this.maxBudget = builder.maxBudget * TOKEN_SCALE;
+        this.budget = new AtomicLong(maxBudget);
+    }
+
+    /**
+     * Creates a {@link Builder} instance for creating a {@link RetryPolicy}.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks if the {@code request} can be safely retried.
+     * 
+     * @param  request the request
+     * @return         if the request is idempotent
+     */
+    public boolean isIdempotent(GenericRequest request) {
+        return request.method() != Method.PUT && idempotence.test(request);
+    }
+
+    /**
+     * Records that an idempotent request is being sent, which adds to the retry
+     * budget.
+     */
+    public void onRequest() {
+        budget.accumulateAndGet(budgetDeposit, (current, deposit) -> Math.min(maxBudget, current + deposit));
+    }
+
+    /**
+     * Decides if an attempt of sending an {@link #isIdempotent(GenericRequest)
+     * idempotent} request should be retried. If so, a retry is taken from the
+     * budget.
+     * 
+     * @param  attempt  the number of the attempt, starting from {@code 1}
+     * @param  response the response of the attempt, if it did not fail
+     * @param  failure  the failure of the attempt, if it failed
+     * @return          the delay after which the request should be retried, or
+     *                  {@code null} if it should not be retried
+     */
+    @Nullable
+    public Duration getRetryDelay(int attempt, @Nullable HttpResponse<?> response, @Nullable Throwable failure) {
+        if (attempt >= maxAttempts) {
+            return null;
+        }
+        Duration delay = null;
+        if (failure != null) {
+            if (!(unwrap(failure) instanceof IOException)) {
+                return null;
+            }
+        } else if (response == null || !retryableStatusCodes.contains(response.statusCode())) {
+            return null;
+        } else {
+            delay = getRetryAfter(response);
+            if (delay != null && delay.compareTo(maxDelay) > 0) {
+                // The server asked for a longer break than we are willing to wait
+                return null;
+            }
+        }
+        if (!tryTakeFromBudget()) {
+            budgetExhaustedCount.increment();
+            return null;
+        }
+        retryCount.increment();
+        return delay == null ? getBackoff(attempt) : delay;
+    }
+
+    private boolean tryTakeFromBudget() {
+        while (true) {
+            final var current = budget.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - TOKEN_SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    private Duration getBackoff(int attempt) {
+        final var exponential = baseDelay.toNanos() * (1L << Math.min(attempt - 1, 30));
+        final var cap = Math.min(maxDelay.toNanos(), exponential < 0 ? Long.MAX_VALUE : exponential);
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    @Nullable
+    private static Duration getRetryAfter(HttpResponse<?> response) {
+        final var header = response.headers().firstValue("Retry-After").orElse(null);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(header.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                final var date = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                final var delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+
+    /**
+     * @return a snapshot of the metrics of this policy
+     */
+    public Metrics metrics() {
+        return new Metrics(retryCount.sum(), budgetExhaustedCount.sum(), (double) budget.get() / TOKEN_SCALE);
+    }
+
+    /**
+     * A snapshot of the metrics of a {@link RetryPolicy}.
+     * 
+     * @param retryCount           the amount of retries made
+     * @param budgetExhaustedCount the amount of retries which were not made
+     *                             because the budget was exhausted
+     * @param remainingBudget      the amount of retries left in the budget
+     */
+    public record Metrics(long retryCount, long budgetExhaustedCount, double remainingBudget) {
+
+    }
+
+    /**
+     * A builder class used for creating {@link RetryPolicy} instances.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+
+        private Builder() {
+        }
+
+        private int maxAttempts = 3;
+        private Duration baseDelay = Duration.ofMillis(200);
+        private Duration maxDelay = Duration.ofSeconds(10);
+        private Set<Integer> retryableStatusCodes = Set.of(StatusCodes.TOO_MANY_REQUESTS, StatusCodes.API_UNAVAILABLE,
+            StatusCodes.GATEWAY_TIMEOUT);
+        private Predicate<GenericRequest> idempotence = DEFAULT_IDEMPOTENCE;
+        private double budgetRatio = 0.2;
+        private int maxBudget = 10;
+
+        /**
+         * Sets the maximum amount of times a request is sent, including the first
+         * attempt. <br>
+         * By default, this is set to {@code 3}.
+         * 
+         * @param  maxAttempts the maximum amount of attempts
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("The maximum amount of attempts must be positive!");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the delays of the retries. The delay of the {@code n}th retry is
+         * picked randomly between {@code 0} and
+         * {@code min(maxDelay, baseDelay * 2^(n - 1))}. The {@code maxDelay} is also
+         * the longest {@code Retry-After} which is honoured. <br>
+         * By default, these are set to 200 milliseconds and 10 seconds.
+         * 
+         * @param  baseDelay the base delay
+         * @param  maxDelay  the maximum delay
+         * @return           the builder instance, for chaining purposes
+         */
+        public Builder backoff(Duration baseDelay, Duration maxDelay) {
+            this.baseDelay = Objects.requireNonNull(baseDelay);
+            this.maxDelay = Objects.requireNonNull(maxDelay);
+            return this;
+        }
+
+        /**
+         * Sets the status codes of the responses which are retried. <br>
+         * By default, these are {@code 429}, {@code 503} and {@code 504}.
+         * 
+         * @param  retryableStatusCodes the status codes
+         * @return                      the builder instance, for chaining purposes
+         */
+        public Builder retryableStatusCodes(Set<Integer> retryableStatusCodes) {
+            this.retryableStatusCodes = Objects.requireNonNull(retryableStatusCodes);
+            return this;
+        }
+
+        /**
+         * Sets the predicate deciding which requests are idempotent, and as such,
+         * can be retried. {@code PUT} requests are never retried. <br>
+         * By default, this is set to {@link RetryPolicy#DEFAULT_IDEMPOTENCE}.
+         * 
+         * @param  idempotence the predicate
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder idempotence(Predicate<GenericRequest> idempotence) {
+            this.idempotence = Objects.requireNonNull(idempotence);
+            return this;
+        }
+
+        /**
+         * Sets the retry budget. Each request adds {@code ratio} retries to the
+         * budget, up to {@code maxBudget}, and each retry takes one. The budget
+         * starts full. <br>
+         * By default, these are set to {@code 0.2} and {@code 10}.
+         * 
+         * @param  ratio     the fraction of a retry each request adds to the budget
+         * @param  maxBudget the maximum amount of retries in the budget
+         * @return           the builder instance, for chaining purposes
+         */
+        public Builder budget(double ratio, int maxBudget) {
+            if (ratio < 0 || maxBudget < 0) {
+                throw new IllegalArgumentException("The retry budget cannot be negative!");
+            }
+            this.budgetRatio = ratio;
+            this.maxBudget = maxBudget;
+            return this;
+        }
+
+        /**
+         * Builds the {@link RetryPolicy} based on the configurations of this
+         * Builder.
+         * 
+         * @return the policy
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.Priority;
+
+/**
+ * A scheduler which limits the amount of requests sent at the same time, and
+ * dispatches the waiting ones by their {@link Priority}. <br>
+ * The priorities share the dispatches by their weight (stride scheduling): a
+ * priority with a weight of {@code 16} is dispatched 16 times as often as one
+ * with a weight of {@code 1}, while both have requests waiting. Requests of the
+ * same priority are dispatched in order. <br>
+ * To prevent starvation, a request which waited for longer than the maximum
+ * queue time is dispatched before any other, regardless of its priority.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class PriorityScheduler {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final int maxConcurrentRequests;
+    private final int[] weights;
+    private final long maxQueueTime;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final ArrayDeque<Entry>[] queues = new ArrayDeque[PRIORITIES.length];
+    /**
+     * The virtual time at which each priority is next dispatched.
+     */
+    private final double[] pass = new double[PRIORITIES.length];
+    private double virtualTime;
+    private int inFlight;
+    /**
+     * If a thread is dispatching queued requests. Completing a permit may
+     * synchronously release another one, which must not dispatch recursively.
+     */
+    private boolean dispatching;
+
+    private final LongAdder[] dispatchedCounts = new LongAdder[PRIORITIES.length];
+    private final LongAdder promotedCount = new LongAdder();
+
+    private PriorityScheduler(Builder builder) {
+        this.maxConcurrentRequests = builder.maxConcurrentRequests;
+        this.weights = builder.weights.clone();
+        this.maxQueueTime = builder.maxQueueTime.toNanos();
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            queues[i] = new ArrayDeque<>();
+            dispatchedCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Creates a {@link Builder} instance for creating a
+     * {@link PriorityScheduler}.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Acquires a permit for sending a request with the given {@code priority}. If
+     * the maximum amount of concurrent requests is reached, the permit is queued.
+     * <br>
+     * Cancelling the returned future removes the permit from the queue.
+     * 
+     * @param  priority the priority of the request
+     * @return          a future which completes with the permit, once the request
+     *                  can be sent
+     */
+    public CompletableFuture<Permit> acquire(Priority priority) {
+        final var index = priority.ordinal();
+        lock.lock();
+        try {
+            if (inFlight < maxConcurrentRequests && isQueueEmpty()) {
+                inFlight++;
+                dispatchedCounts[index].increment();
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            final var queue = queues[index];
+            if (queue.isEmpty()) {
+                // Idle priorities don't accumulate dispatches they can burst later
+                pass[index] = Math.max(pass[index], virtualTime + 1d / weights[index]);
+            }
+            final var future = new CompletableFuture<Permit>();
+            queue.add(new Entry(future, System.nanoTime()));
+            return future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires a permit for sending a request with the given {@code priority},
+     * only if it is available immediately.
+     * 
+     * @param  priority the priority of the request
+     * @return          the permit, or {@code null} if no request can be sent
+     *                  right now
+     */
+    @Nullable
+    public Permit tryAcquire(Priority priority) {
+        lock.lock();
+        try {
+            if (inFlight < maxConcurrentRequests && isQueueEmpty()) {
+                inFlight++;
+                dispatchedCounts[priority.ordinal()].increment();
+                return new Permit();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+        dispatchQueued();
+    }
+
+    private void dispatchQueued() {
+        lock.lock();
+        try {
+            // The dispatching thread will see the released permit before it stops
+            if (dispatching) {
+                return;
+            }
+            dispatching = true;
+        } finally {
+            lock.unlock();
+        }
+        while (true) {
+            final Entry next;
+            lock.lock();
+            try {
+                next = inFlight >= maxConcurrentRequests ? null : poll();
+                if (next == null) {
+                    dispatching = false;
+                    return;
+                }
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+            // If the waiting request was cancelled, give its place to the next one
+            if (!next.future().complete(new Permit())) {
+                lock.lock();
+                try {
+                    inFlight--;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Polls the next entry to dispatch. Must be called while holding the
+     * {@link #lock}.
+     */
+    @Nullable
+    private Entry poll() {
+        final var now = System.nanoTime();
+        int selected = -1;
+        long oldest = Long.MAX_VALUE;
+        // Requests which waited for too long are dispatched first, oldest first
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            final var head = peek(i);
+            if (head != null && now - head.enqueuedAt() > maxQueueTime && head.enqueuedAt() < oldest) {
+                selected = i;
+                oldest = head.enqueuedAt();
+            }
+        }
+        if (selected != -1) {
+            promotedCount.increment();
+        } else {
+            for (int i = 0; i < PRIORITIES.length; i++) {
+                if (peek(i) != null && (selected == -1 || pass[i] < pass[selected])) {
+                    selected = i;
+                }
+            }
+            if (selected == -1) {
+                return null;
+            }
+            virtualTime = pass[selected];
+        }
+        pass[selected] += 1d / weights[selected];
+        dispatchedCounts[selected].increment();
+        return queues[selected].poll();
+    }
+
+    /**
+     * Peeks the first entry of the queue of the priority with the given
+     * {@code index}, discarding the cancelled ones.
+     */
+    @Nullable
+    private Entry peek(int index) {
+        final var queue = queues[index];
+        var head = queue.peek();
+        while (head != null && head.future().isDone()) {
+            queue.poll();
+            head = queue.peek();
+        }
+        return head;
+    }
+
+    private boolean isQueueEmpty() {
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            if (peek(i) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a snapshot of the metrics of this scheduler
+     */
+    public Metrics metrics() {
+        final var queueLengths = new EnumMap<Priority, Integer>(Priority.class);
+        final var dispatched = new EnumMap<Priority, Long>(Priority.class);
+        final int inFlight;
+        lock.lock();
+        try {
+            inFlight = this.inFlight;
+            for (final var priority : PRIORITIES) {
+                int waiting = 0;
+                for (final var entry : queues[priority.ordinal()]) {
+                    if (!entry.future().isDone()) {
+                        waiting++;
+                    }
+                }
+                queueLengths.put(priority, waiting);
+                dispatched.put(priority, dispatchedCounts[priority.ordinal()].sum());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new Metrics(inFlight, Collections.unmodifiableMap(queueLengths), Collections.unmodifiableMap(dispatched),
+            promotedCount.sum());
+    }
+
+    private record Entry(CompletableFuture<Permit> future, long enqueuedAt) {
+
+    }
+
+    /**
+     * A permit for sending a request, which must be released once the request
+     * completes.
+     */
+    public final class Permit {
+
+        private Permit() {
+        }
+
+        /**
+         * Releases this permit, allowing another request to be dispatched.
+         */
+        public void release() {
+            PriorityScheduler.this.release();
+        }
+    }
+
+    /**
+     * A snapshot of the metrics of a {@link PriorityScheduler}.
+     * 
+     * @param inFlight         the amount of requests in flight
+     * @param queueLengths     the amount of requests waiting, by priority
+     * @param dispatchedCounts the amount of dispatched requests, by priority
+     * @param promotedCount    the amount of requests dispatched ahead of their
+     *                         priority, as they waited for too long
+     */
+    public record Metrics(int inFlight, Map<Priority, Integer> queueLengths, Map<Priority, Long> dispatchedCounts,
+        long promotedCount) {
+
+    }
+
+    /**
+     * A builder class used for creating {@link PriorityScheduler} instances.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+
+        private Builder() {
+        }
+
+        private int maxConcurrentRequests = 16;
+        private final int[] weights = {
+            16, 4, 1
+        };
+        private Duration maxQueueTime = Duration.ofSeconds(10);
+
+        /**
+         * Sets the maximum amount of requests sent at the same time. <br>
+         * By default, this is set to {@code 16}.
+         * 
+         * @param  maxConcurrentRequests the maximum amount of requests
+         * @return                       the builder instance, for chaining purposes
+         */
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            if (maxConcurrentRequests < 1) {
+                throw new IllegalArgumentException("The maximum amount of concurrent requests must be positive!");
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Sets the weight of the given {@code priority}. <br>
+         * By default, {@link Priority#INTERACTIVE} has a weight of {@code 16},
+         * {@link Priority#BACKGROUND} of {@code 4}, and {@link Priority#BULK} of
+         * {@code 1}.
+         * 
+         * @param  priority the priority
+         * @param  weight   the weight of the priority
+         * @return          the builder instance, for chaining purposes
+         */
+        public Builder weight(Priority priority, int weight) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("The weight of a priority must be positive!");
+            }
+            this.weights[priority.ordinal()] = weight;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time a request can wait before it is dispatched ahead of
+         * its priority. <br>
+         * By default, this is set to {@code 10} seconds.
+         * 
+         * @param  maxQueueTime the maximum queue time
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder maxQueueTime(Duration maxQueueTime) {
+            this.maxQueueTime = Objects.requireNonNull(maxQueueTime);
+            return this;
+        }
+
+        /**
+         * Builds the {@link PriorityScheduler} based on the configurations of this
+         * Builder.
+         * 
+         * @return the scheduler
+         */
+        public PriorityScheduler build() {
+            return new PriorityScheduler(this);
+        }
+    }
+}
@@ -38,6 +38,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.reflect.TypeToken;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.EndpointTemplate;
 import io.github.matyrobbrt.curseforgeapi.request.Method;
 
 /**
@@ -52,6 +53,8 @@ import io.github.matyrobbrt.curseforgeapi.request.Method;
 @ParametersAreNonnullByDefault
 public final class UploadApiRequests {
 
+    private static final EndpointTemplate UPLOAD_FILE = EndpointTemplate.compile("/api/projects/{}/upload-file");
+
     /**
      * Retrieves a list of game dependencies.
      * 
@@ -87,7 +90,7 @@ public final class UploadApiRequests {
         final var multipartBody = MultipartBodyPublisher.newBuilder()
             .textPart("metadata", uploadQuery.toJson().toString()).filePart("file", filePath).build();
 
-        return new UploadApiRequest<>("/api/projects/%s/upload-file".formatted(projectId), Method.POST, multipartBody,
+        return new UploadApiRequest<>(UPLOAD_FILE.expand(projectId), Method.POST, multipartBody,
             new BiFunction<Gson, JsonElement, Integer>() {
 
                 @Override
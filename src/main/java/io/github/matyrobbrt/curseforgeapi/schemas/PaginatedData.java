@@ -27,10 +27,12 @@
 
 package io.github.matyrobbrt.curseforgeapi.schemas;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 
 public record PaginatedData<T> (T data, Pagination pagination) {
 
@@ -39,5 +41,20 @@ public record PaginatedData<T> (T data, Pagination pagination) {
         final var pagination = json.get("pagination");
         return new PaginatedData<>(gson.fromJson(data, dataType), gson.fromJson(pagination, Pagination.class));
     }
+
+    public static <T> PaginatedData<T> fromJson(final Gson gson, final JsonReader reader, Type dataType) throws IOException {
+        T data = null;
+        Pagination pagination = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "data" -> data = gson.fromJson(reader, dataType);
+            case "pagination" -> pagination = gson.fromJson(reader, Pagination.class);
+            default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new PaginatedData<>(data, pagination);
+    }
     
 }
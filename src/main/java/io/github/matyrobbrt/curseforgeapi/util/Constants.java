@@ -116,6 +116,26 @@ public final class Constants {
          */
         public static final int NOT_FOUND = 404;
 
+        /**
+         * The 415 (Unsupported Media Type) status code indicates that the origin
+         * server is refusing to service the request because the payload is in a
+         * format not supported by this method on the target resource, such as an
+         * unsupported content coding.
+         *
+         * @see <a href=
+         *      "https://tools.ietf.org/html/rfc7231#section-6.5.13">https://tools.ietf.org/html/rfc7231#section-6.5.13</a>
+         */
+        public static final int UNSUPPORTED_MEDIA_TYPE = 415;
+
+        /**
+         * The 429 (Too Many Requests) status code indicates that the user has sent
+         * too many requests in a given amount of time.
+         * 
+         * @see <a href=
+         *      "https://tools.ietf.org/html/rfc6585#section-4">https://tools.ietf.org/html/rfc6585#section-4</a>
+         */
+        public static final int TOO_MANY_REQUESTS = 429;
+
         /**
          * The 500 (Internal Server Error) status code indicates that the server
          * encountered an unexpected condition that prevented it from fulfilling the
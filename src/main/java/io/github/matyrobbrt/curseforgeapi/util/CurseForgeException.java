@@ -27,7 +27,7 @@
 
 package io.github.matyrobbrt.curseforgeapi.util;
 
-public final class CurseForgeException extends Exception {
+public class CurseForgeException extends Exception {
 
     private static final long serialVersionUID = 935864034550707207L;
     
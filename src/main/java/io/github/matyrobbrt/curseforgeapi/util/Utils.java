@@ -32,6 +32,10 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -125,6 +129,73 @@ public final class Utils {
         return runnable;
     }
 
+    /**
+     * Completes the {@code target} future with the result of the {@code source},
+     * once it completes.
+     * 
+     * @param  target the future to complete
+     * @param  source the stage whose result to complete the target with
+     * @param  <T>    the type of the result
+     */
+    public static <T> void completeFrom(CompletableFuture<T> target, CompletionStage<? extends T> source) {
+        source.whenComplete((result, t) -> {
+            if (t != null) {
+                target.completeExceptionally(t);
+            } else {
+                target.complete(result);
+            }
+        });
+    }
+
+    /**
+     * Runs the {@code action} once the {@code source} completes, and returns a
+     * future completed with the result of the source after the action ran.
+     * Cancelling the returned future cancels the source. <br>
+     * Unlike {@link CompletableFuture#whenComplete}, the action also runs when the
+     * returned future is cancelled first, so it can be used for releasing
+     * resources.
+     * 
+     * @param  source the future to wait for
+     * @param  action the action to run with the result of the source
+     * @param  <T>    the type of the result
+     * @return        the future completed after the action ran
+     */
+    public static <T> CompletableFuture<T> whenComplete(CompletableFuture<T> source,
+        BiConsumer<? super T, ? super Throwable> action) {
+        final var dependent = new CompletableFuture<T>();
+        source.whenComplete((result, t) -> {
+            try {
+                action.accept(result, t);
+            } finally {
+                if (t != null) {
+                    dependent.completeExceptionally(t);
+                } else {
+                    dependent.complete(result);
+                }
+            }
+        });
+        return propagateCancellation(dependent, source);
+    }
+
+    /**
+     * Makes the {@code dependent} future cancel the {@code source} future when it
+     * is cancelled, so that the work of the source is aborted when its result is
+     * no longer needed.
+     * 
+     * @param  dependent the future whose cancellation to propagate
+     * @param  source    the future to cancel
+     * @param  <T>       the type of the result of the dependent future
+     * @return           the {@code dependent} future
+     */
+    public static <T> CompletableFuture<T> propagateCancellation(CompletableFuture<T> dependent, Future<?> source) {
+        dependent.whenComplete((result, t) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+
     /**
      * Encodes a string for use in URL requests.
      * 
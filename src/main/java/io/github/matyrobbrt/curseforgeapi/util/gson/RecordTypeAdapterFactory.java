@@ -28,12 +28,15 @@
 package io.github.matyrobbrt.curseforgeapi.util.gson;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
 import java.util.HashMap;
 import java.util.Map;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
@@ -57,64 +60,92 @@ public class RecordTypeAdapterFactory implements TypeAdapterFactory {
 
     @Override
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
-       @SuppressWarnings("unchecked")
-       Class<T> clazz = (Class<T>) type.getRawType();
-       if (!clazz.isRecord()) {
-          return null;
-       }
-       TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        @SuppressWarnings("unchecked")
+        Class<T> clazz = (Class<T>) type.getRawType();
+        if (!clazz.isRecord()) {
+            return null;
+        }
+        return new RecordTypeAdapter<>(gson.getDelegateAdapter(this, type), BindingPlan.create(gson, clazz));
+    }
+
+    private static final class RecordTypeAdapter<T> extends TypeAdapter<T> {
+
+        private final TypeAdapter<T> delegate;
+        private final BindingPlan plan;
 
-       return new TypeAdapter<T>() {
-          @Override
-          public void write(JsonWriter out, T value) throws IOException {
-             delegate.write(out, value);
-          }
+        RecordTypeAdapter(TypeAdapter<T> delegate, BindingPlan plan) {
+            this.delegate = delegate;
+            this.plan = plan;
+        }
 
-          @Override
-          public T read(JsonReader reader) throws IOException {
-             if (reader.peek() == JsonToken.NULL) {
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            delegate.write(out, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
                 reader.nextNull();
                 return null;
-             } else {
-                var recordComponents = clazz.getRecordComponents();
-                var typeMap = new HashMap<String,TypeToken<?>>();
-                for (int i = 0; i < recordComponents.length; i++) {
-                   typeMap.put(recordComponents[i].getName(), TypeToken.get(recordComponents[i].getGenericType()));
-                }
-                var argsMap = new HashMap<String,Object>();
-                reader.beginObject();
-                while (reader.hasNext()) {
-                   String name = reader.nextName();
-                   if (typeMap.containsKey(name)) {
-                       argsMap.put(name, gson.getAdapter(typeMap.get(name)).read(reader));
-                   } else {
-                       reader.skipValue();
-                   }
+            }
+            final var args = plan.defaults.clone();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final Integer index = plan.indices.get(reader.nextName());
+                if (index == null) {
+                    reader.skipValue();
+                } else {
+                    final var value = plan.adapters[index].read(reader);
+                    if (value != null) {
+                        args[index] = value;
+                    }
                 }
-                reader.endObject();
+            }
+            reader.endObject();
+            try {
+                return (T) plan.constructor.invokeExact(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new JsonParseException(e);
+            }
+        }
+    }
 
-                var argTypes = new Class<?>[recordComponents.length];
-                var args = new Object[recordComponents.length];
-                for (int i = 0; i < recordComponents.length; i++) {
-                   argTypes[i] = recordComponents[i].getType();
-                   String name = recordComponents[i].getName();
-                   Object value = argsMap.get(name);
-                   TypeToken<?> type = typeMap.get(name);
-                   if (value == null && (type != null && type.getRawType().isPrimitive())) {
-                       value = PRIMITIVE_DEFAULTS.get(type.getRawType());
-                   }
-                   args[i] = value;
-                }
-                Constructor<T> constructor;
-                try {
-                   constructor = clazz.getDeclaredConstructor(argTypes);
-                   constructor.setAccessible(true);
-                   return constructor.newInstance(args);
-                } catch (NoSuchMethodException | InstantiationException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                   throw new RuntimeException(e);
-                }
-             }
-          }
-       };
+    /**
+     * The information needed for decoding a record, computed once per record
+     * class: the index of each component, the adapters of the components and a
+     * handle to the canonical constructor, which takes the arguments as an
+     * array.
+     */
+    private record BindingPlan(Map<String, Integer> indices, TypeAdapter<?>[] adapters, Object[] defaults,
+        MethodHandle constructor) {
+
+        static BindingPlan create(Gson gson, Class<?> clazz) {
+            final RecordComponent[] components = clazz.getRecordComponents();
+            final var indices = new HashMap<String, Integer>(components.length * 2);
+            final var adapters = new TypeAdapter<?>[components.length];
+            final var defaults = new Object[components.length];
+            final var argTypes = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                final var component = components[i];
+                indices.put(component.getName(), i);
+                adapters[i] = gson.getAdapter(TypeToken.get(component.getGenericType()));
+                argTypes[i] = component.getType();
+                defaults[i] = PRIMITIVE_DEFAULTS.get(argTypes[i]);
+            }
+            try {
+                final var canonical = clazz.getDeclaredConstructor(argTypes);
+                canonical.setAccessible(true);
+                final var constructor = MethodHandles.lookup().unreflectConstructor(canonical)
+                    .asType(MethodType.methodType(Object.class, argTypes))
+                    .asSpreader(Object[].class, components.length);
+                return new BindingPlan(indices, adapters, defaults, constructor);
+            } catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
     }
- }
\ No newline at end of file
+ }
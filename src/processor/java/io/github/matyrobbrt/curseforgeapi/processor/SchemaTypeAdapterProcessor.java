@@ -0,0 +1,377 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * An annotation processor which generates reflection-free
+ * {@code com.google.gson.TypeAdapter}s for all the records annotated with
+ * {@code CurseForgeSchema}. <br>
+ * The generated adapters are exposed through a single
+ * {@code SchemaTypeAdapterFactory}, which is registered as a service so that it
+ * is picked up by the default Gson of the library.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@SupportedAnnotationTypes(SchemaTypeAdapterProcessor.SCHEMA_ANNOTATION)
+public class SchemaTypeAdapterProcessor extends AbstractProcessor {
+
+    static final String SCHEMA_ANNOTATION = "io.github.matyrobbrt.curseforgeapi.annotation.CurseForgeSchema";
+    static final String FACTORY_INTERFACE = "io.github.matyrobbrt.curseforgeapi.util.gson.SchemaTypeAdapterFactory";
+    static final String GENERATED_PACKAGE = "io.github.matyrobbrt.curseforgeapi.util.gson.generated";
+    static final String GENERATED_FACTORY = "GeneratedSchemaTypeAdapterFactory";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || annotations.isEmpty()) {
+            return false;
+        }
+        final var records = new ArrayList<TypeElement>();
+        for (final var annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.RECORD && element instanceof TypeElement type
+                    && type.getTypeParameters().isEmpty() && type.getModifiers().contains(Modifier.PUBLIC)) {
+                    records.add(type);
+                }
+            }
+        }
+        if (records.isEmpty()) {
+            return false;
+        }
+        generated = true;
+
+        final var names = new HashSet<String>();
+        final var adapters = new ArrayList<String>();
+        for (final var record : records) {
+            final var adapterName = adapterName(record);
+            if (!names.add(adapterName)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Duplicate schema adapter name " + adapterName, record);
+                continue;
+            }
+            try {
+                writeAdapter(record, adapterName);
+                adapters.add(adapterName);
+            } catch (IOException | IllegalArgumentException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not generate type adapter: " + e.getMessage(), record);
+            }
+        }
+        try {
+            writeFactory(records, adapters);
+            writeService();
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Could not generate schema type adapter factory: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private void writeAdapter(TypeElement record, String adapterName) throws IOException {
+        final var recordName = record.getQualifiedName().toString();
+        final List<? extends RecordComponentElement> components = record.getRecordComponents();
+        try (final var out = new PrintWriter(processingEnv.getFiler()
+            .createSourceFile(GENERATED_PACKAGE + "." + adapterName, record).openWriter())) {
+            out.println("package " + GENERATED_PACKAGE + ";");
+            out.println();
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println("final class " + adapterName + " extends com.google.gson.TypeAdapter<" + recordName + "> {");
+            out.println();
+            for (int i = 0; i < components.size(); i++) {
+                final var type = components.get(i).asType();
+                if (!isDirectlyRead(type)) {
+                    out.println("    private final com.google.gson.TypeAdapter<" + typeName(box(type)) + "> a" + i + ";");
+                }
+            }
+            out.println();
+            if (components.stream().map(RecordComponentElement::asType)
+                .anyMatch(type -> !isDirectlyRead(type) && !isClassLiteral(type))) {
+                out.println("    @SuppressWarnings(\"unchecked\")");
+            }
+            out.println("    " + adapterName + "(com.google.gson.Gson gson) {");
+            for (int i = 0; i < components.size(); i++) {
+                final var type = components.get(i).asType();
+                if (isDirectlyRead(type)) {
+                    continue;
+                }
+                final var adapter = "gson.getAdapter(com.google.gson.reflect.TypeToken.get(" + typeExpression(box(type)) + "))";
+                if (isClassLiteral(type)) {
+                    out.println("        this.a" + i + " = " + adapter + ";");
+                } else {
+                    // The token of a parameterized type is a wildcard one, so its adapter needs a cast
+                    out.println("        this.a" + i + " = (com.google.gson.TypeAdapter<" + typeName(box(type)) + ">) "
+                        + adapter + ";");
+                }
+            }
+            out.println("    }");
+            out.println();
+
+            // Writing
+            out.println("    @Override");
+            out.println("    public void write(com.google.gson.stream.JsonWriter out, " + recordName + " value) throws java.io.IOException {");
+            out.println("        if (value == null) {");
+            out.println("            out.nullValue();");
+            out.println("            return;");
+            out.println("        }");
+            out.println("        out.beginObject();");
+            for (int i = 0; i < components.size(); i++) {
+                final var component = components.get(i);
+                final var name = component.getSimpleName().toString();
+                out.println("        out.name(\"" + name + "\");");
+                if (isDirectlyRead(component.asType())) {
+                    out.println("        out.value(value." + name + "());");
+                } else {
+                    out.println("        a" + i + ".write(out, value." + name + "());");
+                }
+            }
+            out.println("        out.endObject();");
+            out.println("    }");
+            out.println();
+
+            // Reading
+            out.println("    @Override");
+            out.println("    public " + recordName + " read(com.google.gson.stream.JsonReader in) throws java.io.IOException {");
+            out.println("        if (in.peek() == com.google.gson.stream.JsonToken.NULL) {");
+            out.println("            in.nextNull();");
+            out.println("            return null;");
+            out.println("        }");
+            for (int i = 0; i < components.size(); i++) {
+                final var type = components.get(i).asType();
+                out.println("        " + typeName(type) + " v" + i + " = " + defaultValue(type) + ";");
+            }
+            out.println("        in.beginObject();");
+            out.println("        while (in.hasNext()) {");
+            out.println("            switch (in.nextName()) {");
+            for (int i = 0; i < components.size(); i++) {
+                final var component = components.get(i);
+                final var type = component.asType();
+                out.println("            case \"" + component.getSimpleName() + "\" -> {");
+                if (isDirectlyRead(type)) {
+                    out.println("                if (in.peek() == com.google.gson.stream.JsonToken.NULL) {");
+                    out.println("                    in.nextNull();");
+                    out.println("                } else {");
+                    out.println("                    v" + i + " = in." + readMethod(type) + "();");
+                    out.println("                }");
+                } else if (type.getKind().isPrimitive()) {
+                    out.println("                final " + typeName(box(type)) + " value = a" + i + ".read(in);");
+                    out.println("                if (value != null) {");
+                    out.println("                    v" + i + " = value;");
+                    out.println("                }");
+                } else {
+                    out.println("                v" + i + " = a" + i + ".read(in);");
+                }
+                out.println("            }");
+            }
+            out.println("            default -> in.skipValue();");
+            out.println("            }");
+            out.println("        }");
+            out.println("        in.endObject();");
+            out.println("        return new " + recordName + "(" + java.util.stream.IntStream.range(0, components.size())
+                .mapToObj(i -> "v" + i).collect(Collectors.joining(", ")) + ");");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeFactory(List<TypeElement> records, List<String> adapters) throws IOException {
+        final Element[] origins = records.toArray(Element[]::new);
+        try (final var out = new PrintWriter(processingEnv.getFiler()
+            .createSourceFile(GENERATED_PACKAGE + "." + GENERATED_FACTORY, origins).openWriter())) {
+            out.println("package " + GENERATED_PACKAGE + ";");
+            out.println();
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println("public final class " + GENERATED_FACTORY + " implements " + FACTORY_INTERFACE + " {");
+            out.println();
+            out.println("    @Override");
+            out.println("    @SuppressWarnings(\"unchecked\")");
+            out.println("    public <T> com.google.gson.TypeAdapter<T> create(com.google.gson.Gson gson, com.google.gson.reflect.TypeToken<T> type) {");
+            out.println("        final Class<? super T> raw = type.getRawType();");
+            for (final var record : records) {
+                final var adapterName = adapterName(record);
+                if (!adapters.contains(adapterName)) {
+                    continue;
+                }
+                out.println("        if (raw == " + record.getQualifiedName() + ".class) {");
+                out.println("            return (com.google.gson.TypeAdapter<T>) new " + adapterName + "(gson);");
+                out.println("        }");
+            }
+            out.println("        return null;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeService() throws IOException {
+        try (final Writer writer = processingEnv.getFiler()
+            .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + FACTORY_INTERFACE).openWriter()) {
+            writer.write(GENERATED_PACKAGE + "." + GENERATED_FACTORY + "\n");
+        }
+    }
+
+    private static String adapterName(TypeElement record) {
+        final var name = new StringBuilder(record.getSimpleName());
+        Element enclosing = record.getEnclosingElement();
+        while (enclosing instanceof TypeElement type) {
+            name.insert(0, type.getSimpleName() + "_");
+            enclosing = type.getEnclosingElement();
+        }
+        return name.append("TypeAdapter").toString();
+    }
+
+    /**
+     * Primitives which can be read directly from the reader, and written directly
+     * to the writer.
+     */
+    private static boolean isDirectlyRead(TypeMirror type) {
+        return switch (type.getKind()) {
+        case INT, LONG, DOUBLE, BOOLEAN -> true;
+        default -> false;
+        };
+    }
+
+    private static String readMethod(TypeMirror type) {
+        return switch (type.getKind()) {
+        case INT -> "nextInt";
+        case LONG -> "nextLong";
+        case DOUBLE -> "nextDouble";
+        case BOOLEAN -> "nextBoolean";
+        default -> throw new IllegalArgumentException("Cannot directly read " + type);
+        };
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+        case BOOLEAN -> "false";
+        case CHAR -> "'\\0'";
+        case BYTE -> "(byte) 0";
+        case SHORT -> "(short) 0";
+        case INT -> "0";
+        case LONG -> "0L";
+        case FLOAT -> "0F";
+        case DOUBLE -> "0D";
+        default -> "null";
+        };
+    }
+
+    private TypeMirror box(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind()))
+                .asType();
+        }
+        return type;
+    }
+
+    /**
+     * @return the source name of the {@code type}, without any type annotations
+     */
+    private static String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) type).getComponentType()) + "[]";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            final var declared = (DeclaredType) type;
+            final var raw = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+            if (declared.getTypeArguments().isEmpty()) {
+                return raw;
+            }
+            return raw + declared.getTypeArguments().stream().map(SchemaTypeAdapterProcessor::typeName)
+                .collect(Collectors.joining(", ", "<", ">"));
+        }
+        throw new IllegalArgumentException("Unsupported component type " + type);
+    }
+
+    /**
+     * @return if the {@link #typeExpression(TypeMirror) type expression} of the
+     *         {@code type} is a class literal, whose token is typed
+     */
+    private static boolean isClassLiteral(TypeMirror type) {
+        return type.getKind().isPrimitive()
+            || type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    /**
+     * @return an expression evaluating to the {@link java.lang.reflect.Type} of
+     *         the {@code type}
+     */
+    private static String typeExpression(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return "com.google.gson.reflect.TypeToken.getArray(" + typeExpression(((ArrayType) type).getComponentType())
+                + ").getType()";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            final var declared = (DeclaredType) type;
+            final var raw = ((TypeElement) declared.asElement()).getQualifiedName() + ".class";
+            if (declared.getTypeArguments().isEmpty()) {
+                return raw;
+            }
+            return "com.google.gson.reflect.TypeToken.getParameterized(" + raw + declared.getTypeArguments().stream()
+                .map(SchemaTypeAdapterProcessor::typeExpression).collect(Collectors.joining(", ", ", ", ")"))
+                + ".getType()";
+        }
+        if (type.getKind().isPrimitive()) {
+            return typeName(type) + ".class";
+        }
+        throw new IllegalArgumentException("Unsupported component type " + type);
+    }
+}
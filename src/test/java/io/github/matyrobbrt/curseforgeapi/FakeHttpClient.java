@@ -0,0 +1,268 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.GameIDs;
+
+/**
+ * A {@link HttpClient} which never touches the network. Each request sent
+ * through it becomes an {@link Exchange}, answered by the test, or by the
+ * {@link #respondWith(Consumer) responder} if set. <br>
+ * The request used by {@link CurseForgeAPI#isAuthorized()} is answered
+ * immediately, so that APIs can be built with an API key.
+ * 
+ * @author matyrobbrt
+ *
+ */
+public final class FakeHttpClient extends HttpClient {
+
+    private static final String AUTHORIZATION_CHECK_PATH = "/v1/games/" + GameIDs.MINECRAFT;
+
+    private final BlockingQueue<Exchange> exchanges = new LinkedBlockingQueue<>();
+    private final AtomicInteger sent = new AtomicInteger();
+    @Nullable
+    private volatile Consumer<Exchange> responder;
+
+    /**
+     * Creates an API sending its requests through this client.
+     */
+    public CurseForgeAPI.Builder api() {
+        return CurseForgeAPI.builder().apiKey("key").httpClient(this);
+    }
+
+    /**
+     * Waits for the next request to be sent.
+     * 
+     * @throws AssertionError if no request is sent within 5 seconds
+     */
+    public Exchange nextExchange() throws InterruptedException {
+        final var exchange = exchanges.poll(5, TimeUnit.SECONDS);
+        if (exchange == null) {
+            throw new AssertionError("No request was sent");
+        }
+        return exchange;
+    }
+
+    /**
+     * @return the exchange which was sent but not yet taken by
+     *         {@link #nextExchange()}, if any
+     */
+    @Nullable
+    public Exchange pollExchange() {
+        return exchanges.poll();
+    }
+
+    /**
+     * @return the amount of requests sent through this client, excluding the
+     *         authorization check
+     */
+    public int sentCount() {
+        return sent.get();
+    }
+
+    /**
+     * Sets the responder which answers the requests as soon as they are sent,
+     * instead of letting the test take them through {@link #nextExchange()}.
+     * 
+     * @param responder the responder, or {@code null} to let the test answer
+     */
+    public void respondWith(@Nullable Consumer<Exchange> responder) {
+        this.responder = responder;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+        HttpResponse.BodyHandler<T> responseBodyHandler) {
+        final var exchange = new Exchange(request, new CompletableFuture<>());
+        if (request.uri().getPath().equals(AUTHORIZATION_CHECK_PATH)) {
+            exchange.respond(200, "{\"data\":{\"id\":" + GameIDs.MINECRAFT + "}}");
+        } else {
+            sent.incrementAndGet();
+            final var currentResponder = responder;
+            if (currentResponder != null) {
+                currentResponder.accept(exchange);
+            } else {
+                exchanges.add(exchange);
+            }
+        }
+        return (CompletableFuture<HttpResponse<T>>) (CompletableFuture<?>) exchange.response();
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+        HttpResponse.BodyHandler<T> responseBodyHandler, HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        return sendAsync(request, responseBodyHandler);
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+        throws IOException, InterruptedException {
+        try {
+            return sendAsync(request, responseBodyHandler).get();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return Redirect.NEVER;
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return Optional.empty();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return null;
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return null;
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Version version() {
+        return Version.HTTP_1_1;
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return Optional.empty();
+    }
+
+    /**
+     * A request sent through the client, and its pending response.
+     */
+    public record Exchange(HttpRequest request, CompletableFuture<HttpResponse<byte[]>> response) {
+
+        public void respond(int statusCode, String body) {
+            response.complete(new FakeResponse(statusCode, body.getBytes(StandardCharsets.UTF_8), request));
+        }
+
+        public void fail(Throwable throwable) {
+            response.completeExceptionally(throwable);
+        }
+
+        public boolean isCancelled() {
+            return response.isCancelled();
+        }
+
+        /**
+         * Waits for the exchange to be cancelled, for up to 5 seconds.
+         * 
+         * @return if the exchange was cancelled
+         */
+        public boolean awaitCancellation() throws InterruptedException {
+            try {
+                response.get(5, TimeUnit.SECONDS);
+            } catch (CancellationException e) {
+                return true;
+            } catch (ExecutionException | TimeoutException e) {
+                return false;
+            }
+            return false;
+        }
+    }
+
+    private record FakeResponse(int statusCode, byte[] body, HttpRequest request) implements HttpResponse<byte[]> {
+
+        @Override
+        public HttpHeaders headers() {
+            return HttpHeaders.of(Map.of(), (name, value) -> true);
+        }
+
+        @Override
+        public Optional<HttpResponse<byte[]>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return request.uri();
+        }
+
+        @Override
+        public Version version() {
+            return Version.HTTP_1_1;
+        }
+    }
+}
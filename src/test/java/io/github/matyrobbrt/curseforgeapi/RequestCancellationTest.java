@@ -0,0 +1,121 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Requests;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests that cancelling a request, or letting it time out, aborts its HTTP
+ * exchange. The exchanges are sent through a {@link FakeHttpClient}, and never
+ * answered unless needed.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class RequestCancellationTest {
+
+    private final FakeHttpClient client = new FakeHttpClient();
+
+    @Test
+    @DisplayName("Cancelling a request aborts its exchange")
+    void cancelAbortsExchange() throws Exception {
+        final var api = client.api().build();
+        final var request = api.makeAsyncRequest(Requests.getMod(1));
+        final var exchange = client.nextExchange();
+
+        assertThat(request.cancel()).isTrue();
+        assertThat(exchange.awaitCancellation()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cancelling the future of a mapped request aborts its exchange")
+    void cancelMappedFutureAbortsExchange() throws Exception {
+        final var api = client.api().build();
+        final var future = api.makeAsyncRequest(Requests.getMod(1)).map(response -> response.getStatusCode())
+            .toCompletableFuture();
+        final var exchange = client.nextExchange();
+
+        future.cancel(true);
+        assertThat(exchange.awaitCancellation()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cancelling a flat mapped request aborts the exchange of the request it supplied")
+    void cancelFlatMappedAbortsSuppliedExchange() throws Exception {
+        final var api = client.api().build();
+        final var future = api.makeAsyncRequest(Requests.getMod(1))
+            .flatMapWithException(response -> api.makeAsyncRequest(Requests.getMod(2))).toCompletableFuture();
+        client.nextExchange().respond(200, "{\"data\":{\"id\":1}}");
+        final var supplied = client.nextExchange();
+
+        future.cancel(true);
+        assertThat(supplied.awaitCancellation()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A request which times out aborts its exchange")
+    void timeoutAbortsExchange() throws Exception {
+        final var api = client.api().build();
+        final var future = api.makeAsyncRequest(Requests.getMod(1)).timeout(Duration.ofMillis(50))
+            .toCompletableFuture();
+        final var exchange = client.nextExchange();
+
+        assertThat(exchange.awaitCancellation()).isTrue();
+        assertThat(future.isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Interrupting a blocking request aborts its exchange")
+    void interruptAbortsExchange() throws Exception {
+        final var api = client.api().build();
+        final var result = new CompletableFuture<Boolean>();
+        final var thread = new Thread(() -> {
+            try {
+                // The interrupted caller gets an empty response, and keeps its interrupt status
+                result.complete(api.makeRequest(Requests.getMod(1)).isEmpty() && Thread.currentThread().isInterrupted());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        thread.start();
+        final var exchange = client.nextExchange();
+
+        thread.interrupt();
+        assertThat(exchange.awaitCancellation()).isTrue();
+        assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Priority;
+import io.github.matyrobbrt.curseforgeapi.request.Requests;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.schemas.mod.Mod;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how identical in-flight requests share their HTTP exchange. The
+ * exchanges are answered by the tests through a {@link FakeHttpClient}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class RequestDeduplicationTest {
+
+    private static final String MOD = "{\"data\":{\"id\":1}}";
+
+    private final FakeHttpClient client = new FakeHttpClient();
+
+    @Test
+    @DisplayName("Identical requests share one exchange, but decode their own result")
+    void sharesExchange() throws Exception {
+        final var api = client.api().deduplicateRequests(true).build();
+        final var first = getMod(api, Priority.BACKGROUND);
+        final var second = getMod(api, Priority.BACKGROUND);
+        client.nextExchange().respond(200, MOD);
+
+        assertThat(first.get().get().id()).isEqualTo(1);
+        assertThat(second.get().get().id()).isEqualTo(1);
+        assertThat(first.get().get()).isNotSameAs(second.get().get());
+        assertThat(client.sentCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Requests are not shared unless deduplication is enabled")
+    void disabledByDefault() throws Exception {
+        final var api = client.api().build();
+        getMod(api, Priority.BACKGROUND);
+        getMod(api, Priority.BACKGROUND);
+        assertThat(client.sentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Different requests are not shared")
+    void differentRequests() throws Exception {
+        final var api = client.api().deduplicateRequests(true).build();
+        api.makeAsyncRequest(Requests.getMod(1)).toCompletableFuture();
+        api.makeAsyncRequest(Requests.getMod(2)).toCompletableFuture();
+        assertThat(client.sentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A request joins the exchange of a request with a higher priority")
+    void joinsHigherPriority() throws Exception {
+        final var api = client.api().deduplicateRequests(true).build();
+        getMod(api, Priority.INTERACTIVE);
+        final var bulk = getMod(api, Priority.BULK);
+        client.nextExchange().respond(200, MOD);
+
+        assertThat(bulk.get().get().id()).isEqualTo(1);
+        assertThat(client.sentCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A request doesn't join the exchange of a request with a lower priority")
+    void doesNotJoinLowerPriority() throws Exception {
+        final var api = client.api().deduplicateRequests(true).build();
+        getMod(api, Priority.BULK);
+        getMod(api, Priority.INTERACTIVE);
+        assertThat(client.sentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Blocking requests don't join the exchanges of async requests")
+    void blockingDoesNotJoinAsync() throws Exception {
+        final var api = client.api().deduplicateRequests(true).build();
+        final var async = getMod(api, Priority.BACKGROUND);
+        final var blocking = CompletableFuture.supplyAsync(() -> {
+            try {
+                return api.makeRequest(Requests.getMod(1).withPriority(Priority.BACKGROUND));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        client.nextExchange().respond(200, MOD);
+        client.nextExchange().respond(200, MOD);
+
+        assertThat(async.get().get().id()).isEqualTo(1);
+        assertThat(blocking.get(5, TimeUnit.SECONDS).get().id()).isEqualTo(1);
+        assertThat(client.sentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("The exchange is not cancelled while a caller still waits for it")
+    void cancellationOfOneCaller() throws Exception {
+        final var api = client.api().deduplicateRequests(true).build();
+        final var first = getMod(api, Priority.BACKGROUND);
+        final var second = getMod(api, Priority.BACKGROUND);
+        final var exchange = client.nextExchange();
+
+        first.cancel(true);
+        assertThat(exchange.isCancelled()).isFalse();
+        exchange.respond(200, MOD);
+        assertThat(second.get().get().id()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The exchange is cancelled once all of its callers cancel it")
+    void cancellationOfAllCallers() throws Exception {
+        final var api = client.api().deduplicateRequests(true).build();
+        final var first = getMod(api, Priority.BACKGROUND);
+        final var second = getMod(api, Priority.BACKGROUND);
+        final var exchange = client.nextExchange();
+
+        first.cancel(true);
+        second.cancel(true);
+        assertThat(exchange.isCancelled()).isTrue();
+
+        // A new request doesn't join the cancelled exchange
+        final var third = getMod(api, Priority.BACKGROUND);
+        client.nextExchange().respond(200, MOD);
+        assertThat(third.get().get().id()).isEqualTo(1);
+        assertThat(client.sentCount()).isEqualTo(2);
+    }
+
+    private static CompletableFuture<Response<Mod>> getMod(CurseForgeAPI api, Priority priority) throws Exception {
+        return api.makeAsyncRequest(Requests.getMod(1).withPriority(priority)).toCompletableFuture();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Requests;
+import io.github.matyrobbrt.curseforgeapi.request.hedging.HedgingPolicy;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests which response wins a hedged exchange. The responses are given by the
+ * tests through a {@link FakeHttpClient}, in the order being tested.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class RequestHedgingTest {
+
+    private final FakeHttpClient client = new FakeHttpClient();
+
+    @Test
+    @DisplayName("The hedge wins if it succeeds first")
+    void hedgeWins() throws Exception {
+        final var policy = policy(Duration.ofMillis(10));
+        final var api = client.api().hedgingPolicy(policy).build();
+        final var request = api.makeAsyncRequest(Requests.getMod(1)).toCompletableFuture();
+        final var primary = client.nextExchange();
+        final var hedge = client.nextExchange();
+
+        hedge.respond(200, mod(2));
+        assertThat(request.get(5, TimeUnit.SECONDS).get().id()).isEqualTo(2);
+        assertThat(primary.awaitCancellation()).isTrue();
+        assertThat(policy.metrics().hedgedCount()).isEqualTo(1);
+        assertThat(policy.metrics().hedgeWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The primary request wins if it succeeds first")
+    void primaryWins() throws Exception {
+        final var policy = policy(Duration.ofMillis(10));
+        final var api = client.api().hedgingPolicy(policy).build();
+        final var request = api.makeAsyncRequest(Requests.getMod(1)).toCompletableFuture();
+        final var primary = client.nextExchange();
+        final var hedge = client.nextExchange();
+
+        primary.respond(200, mod(1));
+        assertThat(request.get(5, TimeUnit.SECONDS).get().id()).isEqualTo(1);
+        assertThat(hedge.awaitCancellation()).isTrue();
+        assertThat(policy.metrics().hedgedCount()).isEqualTo(1);
+        assertThat(policy.metrics().hedgeWinCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("A throttled response doesn't win")
+    void throttledResponseLoses() throws Exception {
+        final var api = client.api().hedgingPolicy(policy(Duration.ofMillis(10))).build();
+        final var request = api.makeAsyncRequest(Requests.getMod(1)).toCompletableFuture();
+        final var primary = client.nextExchange();
+        final var hedge = client.nextExchange();
+
+        hedge.respond(429, "");
+        assertThat(request.isDone()).isFalse();
+        primary.respond(200, mod(1));
+        assertThat(request.get(5, TimeUnit.SECONDS).get().id()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A failed request doesn't win")
+    void failedRequestLoses() throws Exception {
+        final var api = client.api().hedgingPolicy(policy(Duration.ofMillis(10))).build();
+        final var request = api.makeAsyncRequest(Requests.getMod(1)).toCompletableFuture();
+        final var primary = client.nextExchange();
+        final var hedge = client.nextExchange();
+
+        primary.fail(new IOException("Connection reset"));
+        assertThat(request.isDone()).isFalse();
+        hedge.respond(200, mod(2));
+        assertThat(request.get(5, TimeUnit.SECONDS).get().id()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("If neither request succeeds, the last unsuccessful response is used")
+    void neitherSucceeds() throws Exception {
+        final var api = client.api().hedgingPolicy(policy(Duration.ofMillis(10))).build();
+        final var request = api.makeAsyncRequest(Requests.getMod(1)).toCompletableFuture();
+        final var primary = client.nextExchange();
+        final var hedge = client.nextExchange();
+
+        primary.respond(503, "");
+        hedge.respond(500, "");
+        assertThat(request.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("No hedge is sent if the primary request succeeds within the delay")
+    void noHedgeBeforeDelay() throws Exception {
+        final var policy = policy(Duration.ofHours(1));
+        final var api = client.api().hedgingPolicy(policy).build();
+        final var request = api.makeAsyncRequest(Requests.getMod(1)).toCompletableFuture();
+
+        client.nextExchange().respond(200, mod(1));
+        assertThat(request.get(5, TimeUnit.SECONDS).get().id()).isEqualTo(1);
+        assertThat(client.sentCount()).isEqualTo(1);
+        assertThat(policy.metrics().hedgedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Blocking requests are not hedged")
+    void blockingNotHedged() throws Exception {
+        final var policy = policy(Duration.ofMillis(10));
+        final var api = client.api().hedgingPolicy(policy).build();
+        final var request = CompletableFuture.supplyAsync(() -> {
+            try {
+                return api.makeRequest(Requests.getMod(1));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        final var primary = client.nextExchange();
+        Thread.sleep(50);
+        assertThat(client.pollExchange()).isNull();
+        primary.respond(200, mod(1));
+        assertThat(request.get(5, TimeUnit.SECONDS).get().id()).isEqualTo(1);
+        assertThat(policy.metrics().hedgedCount()).isZero();
+    }
+
+    private static HedgingPolicy policy(Duration delay) {
+        return HedgingPolicy.builder().initialDelay(delay).delayBounds(Duration.ZERO, Duration.ofHours(1)).build();
+    }
+
+    private static String mod(int id) {
+        return "{\"data\":{\"id\":" + id + "}}";
+    }
+}
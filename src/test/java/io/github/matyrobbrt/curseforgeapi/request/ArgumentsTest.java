@@ -0,0 +1,147 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how {@link Arguments} build their query string.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class ArgumentsTest {
+
+    @Test
+    @DisplayName("Arguments keep their insertion order")
+    void keepsInsertionOrder() {
+        final var args = Arguments.of("b", 2).put("a", 1).put("c", 3);
+        assertThat(args.build()).isEqualTo("b=2&a=1&c=3");
+        assertThat(args.toString()).isEqualTo("b=2&a=1&c=3");
+    }
+
+    @Test
+    @DisplayName("Keys and values are URL-encoded")
+    void encodesKeysAndValues() {
+        final var args = Arguments.of("c", "x y").put("sort order", "a&b=c").put("name", "\u00e9");
+        assertThat(args.build()).isEqualTo("c=x+y&sort+order=a%26b%3Dc&name=%C3%A9");
+        assertThat(Arguments.of("id", -12).put("ratio", 0.5).build()).isEqualTo("id=-12&ratio=0.5");
+    }
+
+    @Test
+    @DisplayName("Raw arguments are put as they are")
+    void putsRawArguments() {
+        final var args = Arguments.of("a", "x y").putRaw("b", "x%20y").putRaw("c%5B%5D", "1%2C2");
+        assertThat(args.build()).isEqualTo("a=x+y&b=x%20y&c%5B%5D=1%2C2");
+        args.putRaw("a", "z").putRaw("d", null);
+        assertThat(args.build()).isEqualTo("a=z&b=x%20y&c%5B%5D=1%2C2");
+    }
+
+    @Test
+    @DisplayName("Putting raw arguments into the empty arguments creates new arguments")
+    void emptyIsImmutableForRawArguments() {
+        final var args = Arguments.EMPTY.putRaw("a", "%C3%A9");
+        assertThat(args).isNotSameAs(Arguments.EMPTY);
+        assertThat(args.build()).isEqualTo("a=%C3%A9");
+        assertThat(Arguments.EMPTY.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Replacing a value keeps the position of its key")
+    void replacingKeepsPosition() {
+        final var args = Arguments.of("a", 1).put("b", 2).put("c", 3);
+        args.build();
+        args.put("b", "longer value");
+        assertThat(args.build()).isEqualTo("a=1&b=longer+value&c=3");
+    }
+
+    @Test
+    @DisplayName("Null values are skipped")
+    void skipsNullValues() {
+        final var args = Arguments.of("a", 1).put("b", null);
+        assertThat(args.build()).isEqualTo("a=1");
+        assertThat(new Arguments(0).put("a", null).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Arguments grow past their initial capacity")
+    void growsPastCapacity() {
+        final var args = new Arguments(0);
+        final var expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            args.put("k" + i, i);
+            expected.append(i == 0 ? "" : "&").append('k').append(i).append('=').append(i);
+        }
+        assertThat(args.build()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    @DisplayName("Putting into the empty arguments creates new arguments")
+    void emptyIsImmutable() {
+        final var args = Arguments.EMPTY.put("a", 1);
+        assertThat(args).isNotSameAs(Arguments.EMPTY);
+        assertThat(args.build()).isEqualTo("a=1");
+        assertThat(Arguments.EMPTY.putAll(Arguments.of("b", 2)).build()).isEqualTo("b=2");
+        assertThat(Arguments.EMPTY.isEmpty()).isTrue();
+        assertThat(Arguments.EMPTY.build()).isEqualTo("");
+    }
+
+    @Test
+    @DisplayName("putAll appends new keys and replaces existing ones")
+    void putAllMerges() {
+        final var args = Arguments.of("a", 1).put("b", 2);
+        args.putAll(Arguments.of("b", "x y").put("c", 3));
+        assertThat(args.build()).isEqualTo("a=1&b=x+y&c=3");
+        assertThat(args.putAll(null)).isSameAs(args);
+    }
+
+    @Test
+    @DisplayName("Copies are independent")
+    void copiesAreIndependent() {
+        final var args = Arguments.of("a", 1);
+        assertThat(args.build()).isEqualTo("a=1");
+        final var copy = args.copy();
+        copy.put("b", 2);
+        args.put("a", 3);
+        assertThat(args.build()).isEqualTo("a=3");
+        assertThat(copy.build()).isEqualTo("a=1&b=2");
+    }
+
+    @Test
+    @DisplayName("The built query string reflects later changes")
+    void buildReflectsChanges() {
+        final var args = Arguments.of("a", 1);
+        assertThat(args.build()).isEqualTo("a=1");
+        args.put("b", 2);
+        assertThat(args.build()).isEqualTo("a=1&b=2");
+        assertThat(args.appendTo(new StringBuilder("/v1/mods?")).toString()).isEqualTo("/v1/mods?a=1&b=2");
+    }
+}
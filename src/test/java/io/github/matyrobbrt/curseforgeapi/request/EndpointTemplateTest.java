@@ -0,0 +1,106 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the expansion of {@link EndpointTemplate endpoint templates}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class EndpointTemplateTest {
+
+    private static final EndpointTemplate MOD = EndpointTemplate.compile("/v1/mods/{}");
+    private static final EndpointTemplate MOD_FILE = EndpointTemplate.compile("/v1/mods/{}/files/{}");
+
+    @Test
+    @DisplayName("Templates expand a single value")
+    void expandsSingleValue() {
+        assertThat(MOD.getValueCount()).isEqualTo(1);
+        assertThat(MOD.expand(32274)).isEqualTo("/v1/mods/32274");
+        assertThat(MOD.expand(Integer.MIN_VALUE)).isEqualTo("/v1/mods/-2147483648");
+        assertThat(EndpointTemplate.compile("/v1/games/{}/versions").expand(432)).isEqualTo("/v1/games/432/versions");
+    }
+
+    @Test
+    @DisplayName("Templates expand two values")
+    void expandsTwoValues() {
+        assertThat(MOD_FILE.getValueCount()).isEqualTo(2);
+        assertThat(MOD_FILE.expand(32274, 3556172)).isEqualTo("/v1/mods/32274/files/3556172");
+    }
+
+    @Test
+    @DisplayName("Templates expand any amount of values")
+    void expandsVarargs() {
+        final var template = EndpointTemplate.compile("/v1/{}/{}/{}/changelog");
+        assertThat(template.getValueCount()).isEqualTo(3);
+        assertThat(template.expand(1, 2, 3)).isEqualTo("/v1/1/2/3/changelog");
+        assertThat(MOD_FILE.expand(new int[] {
+            4, 5
+        })).isEqualTo("/v1/mods/4/files/5");
+    }
+
+    @Test
+    @DisplayName("Templates append the query string of arguments")
+    void expandsWithArguments() {
+        assertThat(MOD.expand(5, Arguments.of("gameId", 432).put("searchFilter", "jei api")))
+            .isEqualTo("/v1/mods/5?gameId=432&searchFilter=jei+api");
+        assertThat(MOD.expand(5, Arguments.EMPTY)).isEqualTo("/v1/mods/5");
+        assertThat(MOD.expand(5, (Arguments) null)).isEqualTo("/v1/mods/5");
+    }
+
+    @Test
+    @DisplayName("Templates without placeholders expand to themselves")
+    void expandsWithoutPlaceholders() {
+        final var template = EndpointTemplate.compile("/v1/games");
+        assertThat(template.getValueCount()).isZero();
+        assertThat(template.expand()).isEqualTo("/v1/games");
+    }
+
+    @Test
+    @DisplayName("Expanding with the wrong amount of values fails")
+    void rejectsWrongValueCount() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MOD_FILE.expand(1));
+        assertThatIllegalArgumentException().isThrownBy(() -> MOD.expand(1, 2));
+        assertThatIllegalArgumentException().isThrownBy(() -> MOD.expand(1, 2, 3));
+        assertThatIllegalArgumentException().isThrownBy(() -> MOD_FILE.expand(1, Arguments.of("a", 1)));
+        assertThatThrownBy(() -> MOD.expand()).isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("expects 1 values, but got 0");
+    }
+
+    @Test
+    @DisplayName("Templates are represented by their source")
+    void toStringIsTemplate() {
+        assertThat(MOD_FILE.toString()).isEqualTo("/v1/mods/{}/files/{}");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.async;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how a {@link TimeoutAsyncRequest} fails, and cancels the request it
+ * wraps, once its timeout passes.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class TimeoutAsyncRequestTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+    private final CompletableFuture<String> source = new CompletableFuture<>();
+
+    @Test
+    @DisplayName("The future fails with a TimeoutException and cancels the request")
+    void futureTimesOut() throws Exception {
+        final var future = new OfCompletableFutureAsyncRequest<>(source).timeout(TIMEOUT).toCompletableFuture();
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        // The request is cancelled after the future fails, so that the failure is the timeout
+        assertThatThrownBy(() -> source.get(5, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    @DisplayName("The future completes with the result of a request which completes in time")
+    void futureCompletesInTime() throws Exception {
+        final var future = new OfCompletableFutureAsyncRequest<>(source).timeout(Duration.ofHours(1))
+            .toCompletableFuture();
+        source.complete("result");
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    }
+
+    @Test
+    @DisplayName("Cancelling the future cancels the request")
+    void cancellingFutureCancelsRequest() {
+        final var future = new OfCompletableFutureAsyncRequest<>(source).timeout(Duration.ofHours(1))
+            .toCompletableFuture();
+        future.cancel(true);
+        assertThat(source.isCancelled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Blocking callers fail with a TimeoutException and cancel the request")
+    void getTimesOut() {
+        final var request = new OfCompletableFutureAsyncRequest<>(source).timeout(TIMEOUT);
+        assertThatThrownBy(request::get).isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(source.isCancelled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Blocking callers don't wait past the timeout for requests which can't be cancelled")
+    void getDoesNotWaitForUncancellable() {
+        final var request = new Uncancellable<>(source).timeout(TIMEOUT);
+        final var start = System.nanoTime();
+        assertThatThrownBy(request::get).isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Queued requests fail with a TimeoutException, and ignore late results")
+    void queueTimesOut() throws Exception {
+        final var failure = new CompletableFuture<Throwable>();
+        final var success = new CompletableFuture<String>();
+        new OfCompletableFutureAsyncRequest<>(source).timeout(TIMEOUT).queue(success::complete, failure::complete);
+
+        assertThat(failure.get(5, TimeUnit.SECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(source.isCancelled()).isTrue();
+        assertThat(success.isDone()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Queued requests which complete in time succeed")
+    void queueCompletesInTime() throws Exception {
+        final var success = new CompletableFuture<String>();
+        new OfCompletableFutureAsyncRequest<>(source).timeout(Duration.ofHours(1)).queue(success::complete,
+            success::completeExceptionally);
+        source.complete("result");
+        assertThat(success.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    }
+
+    /**
+     * A request which ignores cancellation.
+     */
+    private record Uncancellable<T> (CompletableFuture<T> future) implements AsyncRequest<T> {
+
+        @Override
+        public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+            future.whenComplete((result, t) -> {
+                if (t != null) {
+                    onFailure.accept(t);
+                } else {
+                    onSuccess.accept(result);
+                }
+            });
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            return future.get();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.GenericRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.request.RawResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the eviction and admission of the {@link TinyLfuResponseCache}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class TinyLfuResponseCacheTest {
+
+    private static final RawResponse RESPONSE = new RawResponse(200, new byte[0]);
+
+    @Test
+    @DisplayName("Popular responses survive a scan")
+    void popularResponsesSurviveScan() {
+        final var cache = TinyLfuResponseCache.builder().maximumSize(100).build();
+        for (int i = 0; i < 50; i++) {
+            load(cache, request("/v1/mods/" + i));
+        }
+        // Push the last popular response out of the window, then read them all again
+        load(cache, request("/v1/games"));
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.get(request("/v1/mods/" + i))).isNotNull();
+        }
+
+        // A crawl of one-off requests, five times larger than the cache
+        for (int i = 0; i < 500; i++) {
+            load(cache, request("/v1/mods/search?index=" + i));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.get(request("/v1/mods/" + i))).isNotNull();
+        }
+        final var stats = cache.stats();
+        assertThat(stats.size()).isLessThanOrEqualTo(100);
+        assertThat(stats.evictionCount()).isGreaterThan(0L);
+    }
+
+    @Test
+    @DisplayName("Frequent responses are admitted over one-off ones")
+    void frequentResponsesAreAdmitted() {
+        final var cache = TinyLfuResponseCache.builder().maximumSize(100).build();
+        // Fill the cache with one-off responses
+        for (int i = 0; i < 100; i++) {
+            load(cache, request("/v1/mods/search?index=" + i));
+        }
+        assertThat(cache.stats().size()).isEqualTo(100);
+
+        final var frequent = request("/v1/games/432");
+        for (int i = 0; i < 15; i++) {
+            assertThat(cache.get(frequent)).isNull();
+        }
+        cache.put(frequent, RESPONSE);
+        // Push the frequent response out of the window, into the main space
+        cache.put(request("/v1/games"), RESPONSE);
+
+        assertThat(cache.get(frequent)).isSameAs(RESPONSE);
+        assertThat(cache.stats().size()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("New responses are admitted while the cache is not full")
+    void responsesAreAdmittedWhileNotFull() {
+        final var cache = TinyLfuResponseCache.builder().maximumSize(10).build();
+        for (int i = 0; i < 10; i++) {
+            cache.put(request("/v1/mods/" + i), RESPONSE);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get(request("/v1/mods/" + i))).isSameAs(RESPONSE);
+        }
+        assertThat(cache.stats().evictionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("The TTL of the longest prefix is used")
+    void longestPrefixTtlIsUsed() {
+        final var cache = TinyLfuResponseCache.builder()
+            .defaultTtl(Duration.ofMinutes(5))
+            .ttl("/v1/mods", Duration.ofMinutes(1))
+            .ttl("/v1/mods/search", Duration.ZERO)
+            .build();
+        assertThat(cache.getTtl("/v1/games")).isEqualTo(Duration.ofMinutes(5));
+        assertThat(cache.getTtl("/v1/mods/1")).isEqualTo(Duration.ofMinutes(1));
+        assertThat(cache.getTtl("/v1/mods/search?gameId=432")).isEqualTo(Duration.ZERO);
+
+        // A zero TTL disables caching
+        cache.put(request("/v1/mods/search?gameId=432"), RESPONSE);
+        assertThat(cache.get(request("/v1/mods/search?gameId=432"))).isNull();
+        cache.put(request("/v1/mods/1"), RESPONSE);
+        assertThat(cache.get(request("/v1/mods/1"))).isSameAs(RESPONSE);
+    }
+
+    @Test
+    @DisplayName("Invalidated responses are removed")
+    void invalidatedResponsesAreRemoved() {
+        final var cache = TinyLfuResponseCache.builder().maximumSize(10).build();
+        cache.put(request("/v1/mods/1"), RESPONSE);
+        cache.put(request("/v1/mods/2"), RESPONSE);
+
+        cache.invalidate(request("/v1/mods/1"));
+        assertThat(cache.get(request("/v1/mods/1"))).isNull();
+        assertThat(cache.get(request("/v1/mods/2"))).isSameAs(RESPONSE);
+
+        cache.invalidateAll();
+        assertThat(cache.get(request("/v1/mods/2"))).isNull();
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    /**
+     * Loads the response of the {@code request} the way the API does: on a miss.
+     */
+    private static void load(TinyLfuResponseCache cache, GenericRequest request) {
+        if (cache.get(request) == null) {
+            cache.put(request, RESPONSE);
+        }
+    }
+
+    private static GenericRequest request(String endpoint) {
+        return new GenericRequest(endpoint, Method.GET);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.circuit;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.circuit.CircuitBreaker.State;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the state transitions of a {@link CircuitBreaker}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class CircuitBreakerTest {
+
+    private static final String FAMILY = "/v1/mods";
+
+    @Test
+    @DisplayName("Breaker opens once the failure rate threshold is reached")
+    void opensAtThreshold() {
+        final var breaker = breaker(Duration.ofHours(1), 2);
+        recordFailure(breaker);
+        recordFailure(breaker);
+        recordSuccess(breaker);
+        // Not enough calls recorded yet
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        recordFailure(breaker);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.metrics().openedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Breaker stays closed below the failure rate threshold")
+    void staysClosedBelowThreshold() {
+        final var breaker = breaker(Duration.ofHours(1), 2);
+        recordFailure(breaker);
+        recordSuccess(breaker);
+        recordSuccess(breaker);
+        recordSuccess(breaker);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.metrics().failureRate()).isEqualTo(0.25);
+    }
+
+    @Test
+    @DisplayName("Open breaker rejects requests")
+    void openBreakerRejects() {
+        final var breaker = openBreaker(Duration.ofHours(1), 2);
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.metrics().rejectedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Half-open breaker limits the probes and closes once they succeed")
+    void halfOpenBreakerCloses() {
+        final var breaker = openBreaker(Duration.ZERO, 2);
+        final var first = breaker.tryAcquire();
+        assertThat(first).isNotNull();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        final var second = breaker.tryAcquire();
+        assertThat(second).isNotNull();
+        assertThat(breaker.tryAcquire()).isNull();
+
+        first.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        second.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.metrics().recordedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Failed probe reopens the breaker")
+    void failedProbeReopens() {
+        final var breaker = openBreaker(Duration.ZERO, 2);
+        breaker.tryAcquire().onFailure();
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.metrics().openedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Released probe frees its slot")
+    void releasedProbeFreesSlot() {
+        final var breaker = openBreaker(Duration.ZERO, 1);
+        final var probe = breaker.tryAcquire();
+        assertThat(breaker.tryAcquire()).isNull();
+        probe.release();
+        final var next = breaker.tryAcquire();
+        assertThat(next).isNotNull();
+        next.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Outcomes of permits from a previous state are ignored")
+    void stalePermitsAreIgnored() {
+        final var breaker = breaker(Duration.ZERO, 1);
+        final var stale = breaker.tryAcquire();
+        for (int i = 0; i < 4; i++) {
+            recordFailure(breaker);
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+        final var probe = breaker.tryAcquire();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        // Would reopen the breaker if it was counted as a probe
+        stale.onFailure();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        stale.release();
+        assertThat(breaker.tryAcquire()).isNull();
+        probe.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Old outcomes leave the sliding window")
+    void slidingWindowAgesOutOutcomes() {
+        final var breaker = CircuitBreakers.builder()
+            .failureRateThreshold(0.75, 4, 4)
+            .openDuration(Duration.ofHours(1))
+            .build()
+            .get(FAMILY);
+        recordFailure(breaker);
+        recordFailure(breaker);
+        recordSuccess(breaker);
+        recordSuccess(breaker);
+        recordSuccess(breaker);
+        recordSuccess(breaker);
+        recordFailure(breaker);
+        recordFailure(breaker);
+        // 4 of the 8 outcomes failed, but only 2 of the last 4
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.metrics().recordedCount()).isEqualTo(4);
+        recordFailure(breaker);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private static CircuitBreaker breaker(Duration openDuration, int halfOpenProbes) {
+        return CircuitBreakers.builder()
+            .failureRateThreshold(0.5, 4, 4)
+            .openDuration(openDuration)
+            .halfOpenProbes(halfOpenProbes)
+            .build()
+            .get(FAMILY);
+    }
+
+    private static CircuitBreaker openBreaker(Duration openDuration, int halfOpenProbes) {
+        final var breaker = breaker(openDuration, halfOpenProbes);
+        for (int i = 0; i < 4; i++) {
+            recordFailure(breaker);
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        return breaker;
+    }
+
+    private static void recordSuccess(CircuitBreaker breaker) {
+        breaker.tryAcquire().onSuccess();
+    }
+
+    private static void recordFailure(CircuitBreaker breaker) {
+        breaker.tryAcquire().onFailure();
+    }
+}
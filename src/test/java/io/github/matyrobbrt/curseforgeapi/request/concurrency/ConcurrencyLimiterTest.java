@@ -0,0 +1,194 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.concurrency.ConcurrencyLimiter.Permit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the additive increase / multiplicative decrease of the
+ * {@link ConcurrencyLimiter}. Unless the latency is tested, the tolerance is
+ * high enough for slow exchanges never to be considered overloading.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class ConcurrencyLimiterTest {
+
+    private static final double NO_LATENCY_LIMIT = 1e12;
+
+    @Test
+    @DisplayName("Exchanges over the limit are queued")
+    void queuesOverLimit() {
+        final var limiter = limiter(2, 1, 10);
+        assertThat(limiter.acquire().isDone()).isTrue();
+        assertThat(limiter.acquire().isDone()).isTrue();
+        final var queued = limiter.acquire();
+
+        assertThat(queued.isDone()).isFalse();
+        assertThat(limiter.metrics().inFlight()).isEqualTo(2);
+        assertThat(limiter.metrics().queueLength()).isEqualTo(1);
+        assertThat(limiter.metrics().queuedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Queued exchanges are dispatched in order, once permits are released")
+    void dispatchesInOrder() throws Exception {
+        final var limiter = limiter(1, 1, 10);
+        final var first = limiter.acquire().get();
+        final var second = limiter.acquire();
+        final var third = limiter.acquire();
+
+        first.release();
+        assertThat(second.isDone()).isTrue();
+        assertThat(third.isDone()).isFalse();
+        second.get().release();
+        assertThat(third.isDone()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cancelled exchanges give their place in the queue to the next ones")
+    void skipsCancelled() throws Exception {
+        final var limiter = limiter(1, 1, 10);
+        final var first = limiter.acquire().get();
+        final var cancelled = limiter.acquire();
+        final var next = limiter.acquire();
+
+        cancelled.cancel(false);
+        first.release();
+        assertThat(next.isDone()).isTrue();
+        assertThat(limiter.metrics().inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Dropped exchanges multiply the limit by the backoff ratio")
+    void decreasesOnDrop() throws Exception {
+        final var limiter = limiter(10, 1, 20);
+        limiter.acquire().get().onDropped();
+        assertThat(limiter.metrics().limit()).isEqualTo(5);
+        limiter.acquire().get().onDropped();
+        assertThat(limiter.metrics().limit()).isEqualTo(2);
+        assertThat(limiter.metrics().droppedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("The limit doesn't decrease below the minimum")
+    void respectsMinimum() throws Exception {
+        final var limiter = limiter(4, 3, 10);
+        limiter.acquire().get().onDropped();
+        assertThat(limiter.metrics().limit()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Successful exchanges increase the limit by one while it is being used")
+    void increasesWhenUsed() throws Exception {
+        final var limiter = limiter(2, 1, 10);
+        final var first = limiter.acquire().get();
+        final var second = limiter.acquire().get();
+
+        first.onSuccess();
+        assertThat(limiter.metrics().limit()).isEqualTo(3);
+        second.onSuccess();
+        assertThat(limiter.metrics().limit()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("The limit doesn't increase above the maximum")
+    void respectsMaximum() throws Exception {
+        final var limiter = limiter(2, 1, 2);
+        final var first = limiter.acquire().get();
+        limiter.acquire().get();
+        first.onSuccess();
+        assertThat(limiter.metrics().limit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A raised limit dispatches queued exchanges")
+    void increaseDispatchesQueued() throws Exception {
+        final var limiter = limiter(2, 1, 10);
+        final var permits = new ArrayList<Permit>();
+        permits.add(limiter.acquire().get());
+        permits.add(limiter.acquire().get());
+        final List<CompletableFuture<Permit>> queued = List.of(limiter.acquire(), limiter.acquire());
+
+        permits.get(0).onSuccess();
+        // The released permit and the raised limit let both queued exchanges through
+        assertThat(queued.get(0).isDone()).isTrue();
+        assertThat(queued.get(1).isDone()).isTrue();
+        assertThat(limiter.metrics().inFlight()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Exchanges slower than the tolerated latency decrease the limit")
+    void decreasesOnSlowExchange() throws Exception {
+        final var limiter = ConcurrencyLimiter.builder().limit(10, 1, 20).backoffRatio(0.5).latencyTolerance(2, 100)
+            .build();
+        limiter.acquire().get().onSuccess();
+        final var slow = limiter.acquire().get();
+        Thread.sleep(50);
+        slow.onSuccess();
+
+        assertThat(limiter.metrics().limit()).isEqualTo(5);
+        assertThat(limiter.metrics().droppedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Released permits don't affect the limit")
+    void releaseDoesNotSample() throws Exception {
+        final var limiter = limiter(2, 1, 10);
+        final var first = limiter.acquire().get();
+        limiter.acquire().get();
+        first.release();
+
+        assertThat(limiter.metrics().limit()).isEqualTo(2);
+        assertThat(limiter.metrics().inFlight()).isEqualTo(1);
+        assertThat(limiter.metrics().minLatency().isZero()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Invalid configurations are rejected")
+    void rejectsInvalidConfigurations() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ConcurrencyLimiter.builder().limit(5, 6, 10));
+        assertThatIllegalArgumentException().isThrownBy(() -> ConcurrencyLimiter.builder().limit(0, 0, 10));
+        assertThatIllegalArgumentException().isThrownBy(() -> ConcurrencyLimiter.builder().backoffRatio(1));
+        assertThatIllegalArgumentException().isThrownBy(() -> ConcurrencyLimiter.builder().latencyTolerance(1, 10));
+    }
+
+    private static ConcurrencyLimiter limiter(int initial, int min, int max) {
+        return ConcurrencyLimiter.builder().limit(initial, min, max).backoffRatio(0.5)
+            .latencyTolerance(NO_LATENCY_LIMIT, 100).build();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.gson.reflect.TypeToken;
+
+import io.github.matyrobbrt.curseforgeapi.FakeHttpClient.Exchange;
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.request.Request;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+
+/**
+ * Fake pages of a paginated request, used by the tests of the paginators. The
+ * item at each index is the index itself.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class FakePages {
+
+    private static final Type ITEMS = new TypeToken<List<Integer>>() {}.getType();
+
+    /**
+     * A factory of the requests for the fake pages.
+     */
+    static final PageRequestFactory<Integer> FACTORY = (index, pageSize) -> Request.ofReader(
+        "/v1/items?index=%s&pageSize=%s".formatted(index, pageSize), Method.GET, null,
+        (gson, reader) -> PaginatedData.fromJson(gson, reader, ITEMS));
+
+    private FakePages() {
+    }
+
+    /**
+     * @return the items from {@code start} (inclusive) to {@code end} (exclusive)
+     */
+    static List<Integer> items(int start, int end) {
+        return IntStream.range(start, end).boxed().toList();
+    }
+
+    /**
+     * @return the index of the page requested by the {@code exchange}
+     */
+    static int index(Exchange exchange) {
+        return queryParameter(exchange, "index");
+    }
+
+    /**
+     * @return the size of the page requested by the {@code exchange}
+     */
+    static int pageSize(Exchange exchange) {
+        return queryParameter(exchange, "pageSize");
+    }
+
+    /**
+     * Answers the {@code exchange} with the requested page of a paginated request
+     * of {@code totalCount} items.
+     * 
+     * @param includeTotal if the total count should be included in the pagination
+     */
+    static void respond(Exchange exchange, int totalCount, boolean includeTotal) {
+        final var index = index(exchange);
+        final var pageSize = pageSize(exchange);
+        final var items = items(index, Math.max(index, Math.min(index + pageSize, totalCount)));
+        exchange.respond(200, page(items, index, pageSize, includeTotal ? totalCount : null));
+    }
+
+    /**
+     * Answers the {@code exchange} with the requested page of a paginated request
+     * of {@code totalCount} items.
+     */
+    static void respond(Exchange exchange, int totalCount) {
+        respond(exchange, totalCount, true);
+    }
+
+    private static String page(List<Integer> items, int index, int pageSize, @Nullable Integer totalCount) {
+        final var data = items.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+        return "{\"data\":%s,\"pagination\":{\"index\":%s,\"pageSize\":%s,\"resultCount\":%s,\"totalCount\":%s}}"
+            .formatted(data, index, pageSize, items.size(), totalCount);
+    }
+
+    private static int queryParameter(Exchange exchange, String name) {
+        for (final var parameter : exchange.request().uri().getQuery().split("&")) {
+            final var separator = parameter.indexOf('=');
+            if (parameter.substring(0, separator).equals(name)) {
+                return Integer.parseInt(parameter.substring(separator + 1));
+            }
+        }
+        throw new AssertionError("Missing query parameter " + name);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.FakeHttpClient;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how the {@link PaginatedIterable} fetches the pages of a paginated
+ * request as the iteration moves through them. The pages are served by a
+ * {@link FakeHttpClient}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class PaginatedIterableTest {
+
+    private final FakeHttpClient client = new FakeHttpClient();
+
+    @Test
+    @DisplayName("All the items are iterated in order")
+    void iteratesAllItems() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 120));
+        final var items = new ArrayList<Integer>();
+        iterable(0, 50, Integer.MAX_VALUE).forEach(items::add);
+
+        assertThat(items).isEqualTo(FakePages.items(0, 120));
+        assertThat(client.sentCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Pages are only fetched as the iteration reaches them")
+    void fetchesLazily() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 500));
+        final var iterator = iterable(0, 50, Integer.MAX_VALUE).iterator();
+        assertThat(client.sentCount()).isEqualTo(1);
+
+        iterator.next();
+        // The next page is requested once the first one is received
+        assertThat(client.sentCount()).isEqualTo(2);
+        for (int i = 1; i < 50; i++) {
+            iterator.next();
+        }
+        assertThat(client.sentCount()).isEqualTo(2);
+        assertThat(iterator.next()).isEqualTo(50);
+        assertThat(client.sentCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Without a total count, a partial page is the last one")
+    void partialPageWithoutTotal() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 70, false));
+        final var items = iterable(0, 50, Integer.MAX_VALUE).stream().collect(Collectors.toList());
+
+        assertThat(items).isEqualTo(FakePages.items(0, 70));
+        assertThat(client.sentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Items past the maximum index are not requested")
+    void respectsMaxIndex() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 500));
+        final var items = iterable(30, 50, 100).stream().collect(Collectors.toList());
+
+        assertThat(items).isEqualTo(FakePages.items(30, 100));
+        assertThat(client.sentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("An empty result has no items")
+    void emptyResult() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 0));
+        final var iterator = iterable(0, 50, Integer.MAX_VALUE).iterator();
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("A page which can't be fetched throws from the iterator")
+    void failedPageThrows() throws Exception {
+        client.respondWith(exchange -> exchange.respond(500, ""));
+        final var iterator = iterable(0, 50, Integer.MAX_VALUE).iterator();
+
+        assertThatThrownBy(iterator::hasNext).isInstanceOf(CurseForgeException.Runtime.class);
+    }
+
+    @Test
+    @DisplayName("Closing the stream cancels the page request in flight")
+    void closeCancelsPageRequest() throws Exception {
+        final var stream = iterable(0, 50, Integer.MAX_VALUE).stream();
+        final var exchange = client.nextExchange();
+
+        stream.close();
+        assertThat(exchange.awaitCancellation()).isTrue();
+    }
+
+    private PaginatedIterable<Integer> iterable(int startIndex, int pageSize, int maxIndex) throws Exception {
+        return new PaginatedIterable<>(client.api().build(), FakePages.FACTORY, startIndex, pageSize, maxIndex);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.FakeHttpClient;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how the {@link PaginatedPublisher} walks the pages of a paginated
+ * request, following the demand of its subscriber. The pages are served by a
+ * {@link FakeHttpClient}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class PaginatedPublisherTest {
+
+    private final FakeHttpClient client = new FakeHttpClient();
+
+    @Test
+    @DisplayName("All the items are emitted in order, followed by the completion")
+    void emitsAllItems() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 120));
+        final var subscriber = new TestSubscriber(Long.MAX_VALUE);
+        publisher(0, 50, Integer.MAX_VALUE).subscribe(subscriber);
+
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        assertThat(subscriber.items).isEqualTo(FakePages.items(0, 120));
+        assertThat(client.sentCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Items are only emitted as requested, and at most one page is fetched ahead")
+    void followsDemand() throws Exception {
+        final var subscriber = new TestSubscriber(3);
+        publisher(0, 50, Integer.MAX_VALUE).subscribe(subscriber);
+        FakePages.respond(client.nextExchange(), 200);
+
+        assertThat(subscriber.items).isEqualTo(FakePages.items(0, 3));
+        // The next page is fetched while the current one is consumed, but not the one after it
+        FakePages.respond(client.nextExchange(), 200);
+        assertThat(client.pollExchange()).isNull();
+        assertThat(subscriber.items).hasSize(3);
+
+        subscriber.subscription.request(50);
+        assertThat(subscriber.items).isEqualTo(FakePages.items(0, 53));
+        assertThat(FakePages.index(client.nextExchange())).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Cancelling the subscription cancels the page request in flight")
+    void cancelCancelsPageRequest() throws Exception {
+        final var subscriber = new TestSubscriber(1);
+        publisher(0, 50, Integer.MAX_VALUE).subscribe(subscriber);
+        final var exchange = client.nextExchange();
+
+        subscriber.subscription.cancel();
+        assertThat(exchange.awaitCancellation()).isTrue();
+        assertThat(subscriber.completion.isDone()).isFalse();
+    }
+
+    @Test
+    @DisplayName("A page which can't be fetched fails the subscriber")
+    void failedPageFails() throws Exception {
+        final var subscriber = new TestSubscriber(Long.MAX_VALUE);
+        publisher(0, 50, Integer.MAX_VALUE).subscribe(subscriber);
+        client.nextExchange().respond(500, "");
+
+        assertThatThrownBy(() -> subscriber.completion.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(CurseForgeException.class);
+    }
+
+    @Test
+    @DisplayName("Without a total count, a partial page is the last one")
+    void partialPageWithoutTotal() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 70, false));
+        final var subscriber = new TestSubscriber(Long.MAX_VALUE);
+        publisher(0, 50, Integer.MAX_VALUE).subscribe(subscriber);
+
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        assertThat(subscriber.items).isEqualTo(FakePages.items(0, 70));
+        assertThat(client.sentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Items past the maximum index are not requested")
+    void respectsMaxIndex() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 200));
+        final var subscriber = new TestSubscriber(Long.MAX_VALUE);
+        publisher(10, 50, 80).subscribe(subscriber);
+
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        assertThat(subscriber.items).isEqualTo(FakePages.items(10, 80));
+    }
+
+    @Test
+    @DisplayName("Non-positive requests fail the subscriber")
+    void rejectsNonPositiveRequests() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 200));
+        final var subscriber = new TestSubscriber(0);
+        publisher(0, 50, Integer.MAX_VALUE).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+        assertThatThrownBy(() -> subscriber.completion.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Invalid page sizes are rejected")
+    void rejectsInvalidPageSizes() {
+        assertThatIllegalArgumentException().isThrownBy(() -> publisher(0, 0, Integer.MAX_VALUE));
+        assertThatIllegalArgumentException().isThrownBy(() -> publisher(0, 51, Integer.MAX_VALUE));
+    }
+
+    private PaginatedPublisher<Integer> publisher(int startIndex, int pageSize, int maxIndex) throws Exception {
+        return new PaginatedPublisher<>(client.api().build(), FakePages.FACTORY, startIndex, pageSize, maxIndex);
+    }
+
+    /**
+     * A subscriber which requests {@code initialDemand} items when subscribed.
+     */
+    private static final class TestSubscriber implements Flow.Subscriber<Integer> {
+
+        private final long initialDemand;
+        private final List<Integer> items = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile Flow.Subscription subscription;
+
+        TestSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+}
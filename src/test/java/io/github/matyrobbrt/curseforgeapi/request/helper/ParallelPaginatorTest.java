@@ -0,0 +1,166 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.FakeHttpClient;
+import io.github.matyrobbrt.curseforgeapi.FakeHttpClient.Exchange;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how the {@link ParallelPaginator} fetches the pages of a paginated
+ * request through its sliding window. The pages are served by a
+ * {@link FakeHttpClient}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class ParallelPaginatorTest {
+
+    private final FakeHttpClient client = new FakeHttpClient();
+
+    @Test
+    @DisplayName("The pages are combined in order, regardless of the order they complete in")
+    void combinesPagesInOrder() throws Exception {
+        final var request = ParallelPaginator.fetchAll(client.api().build(), FakePages.FACTORY, 0, 50,
+            Integer.MAX_VALUE, 10).toCompletableFuture();
+        FakePages.respond(client.nextExchange(), 180);
+        final var pages = new ArrayList<Exchange>();
+        for (int i = 0; i < 3; i++) {
+            pages.add(client.nextExchange());
+        }
+        for (int i = pages.size() - 1; i >= 0; i--) {
+            FakePages.respond(pages.get(i), 180);
+        }
+
+        assertThat(request.get(5, TimeUnit.SECONDS)).isEqualTo(FakePages.items(0, 180));
+        assertThat(client.sentCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("At most the maximum amount of pages are in flight at once")
+    void boundsPagesInFlight() throws Exception {
+        final var request = ParallelPaginator.fetchAll(client.api().build(), FakePages.FACTORY, 0, 10,
+            Integer.MAX_VALUE, 2).toCompletableFuture();
+        FakePages.respond(client.nextExchange(), 60);
+
+        final var inFlight = new ArrayDeque<Exchange>();
+        inFlight.add(client.nextExchange());
+        inFlight.add(client.nextExchange());
+        int unsent = 3;
+        while (!inFlight.isEmpty()) {
+            assertThat(client.pollExchange()).isNull();
+            FakePages.respond(inFlight.poll(), 60);
+            // The completed page makes room for the next one
+            if (unsent-- > 0) {
+                inFlight.add(client.nextExchange());
+            }
+        }
+
+        assertThat(request.get(5, TimeUnit.SECONDS)).isEqualTo(FakePages.items(0, 60));
+        assertThat(client.sentCount()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Without a total count, only the first page is fetched")
+    void firstPageWithoutTotal() throws Exception {
+        final var request = ParallelPaginator.fetchAll(client.api().build(), FakePages.FACTORY, 0, 50,
+            Integer.MAX_VALUE).toCompletableFuture();
+        FakePages.respond(client.nextExchange(), 180, false);
+
+        assertThat(request.get(5, TimeUnit.SECONDS)).isEqualTo(FakePages.items(0, 50));
+        assertThat(client.pollExchange()).isNull();
+    }
+
+    @Test
+    @DisplayName("Items past the maximum index are not requested")
+    void respectsMaxIndex() throws Exception {
+        client.respondWith(exchange -> FakePages.respond(exchange, 500));
+        final var request = ParallelPaginator.fetchAll(client.api().build(), FakePages.FACTORY, 20, 50, 130);
+
+        assertThat(request.get()).isEqualTo(FakePages.items(20, 130));
+        assertThat(client.sentCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A page which can't be fetched fails the request, and cancels the other pages")
+    void failedPageFails() throws Exception {
+        final var request = ParallelPaginator.fetchAll(client.api().build(), FakePages.FACTORY, 0, 50,
+            Integer.MAX_VALUE, 2).toCompletableFuture();
+        FakePages.respond(client.nextExchange(), 200);
+        final var failing = client.nextExchange();
+        final var other = client.nextExchange();
+
+        failing.respond(500, "");
+        assertThatThrownBy(() -> request.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(CurseForgeException.class);
+        assertThat(other.awaitCancellation()).isTrue();
+        assertThat(client.pollExchange()).isNull();
+    }
+
+    @Test
+    @DisplayName("Cancelling the request cancels the pages in flight")
+    void cancelCancelsPages() throws Exception {
+        final var request = ParallelPaginator.fetchAll(client.api().build(), FakePages.FACTORY, 0, 50,
+            Integer.MAX_VALUE, 2).toCompletableFuture();
+        FakePages.respond(client.nextExchange(), 200);
+        final var first = client.nextExchange();
+        final var second = client.nextExchange();
+
+        request.cancel(true);
+        assertThat(first.awaitCancellation()).isTrue();
+        assertThat(second.awaitCancellation()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Nothing is requested when the start index is past the maximum index")
+    void emptyRange() throws Exception {
+        final var request = ParallelPaginator.fetchAll(client.api().build(), FakePages.FACTORY, 10, 50, 10);
+        assertThat(request.get()).isEmpty();
+        assertThat(client.sentCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Invalid configurations are rejected")
+    void rejectsInvalidConfigurations() throws Exception {
+        final var api = client.api().build();
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> ParallelPaginator.fetchAll(api, FakePages.FACTORY, 0, 51, Integer.MAX_VALUE));
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> ParallelPaginator.fetchAll(api, FakePages.FACTORY, 0, 50, Integer.MAX_VALUE, 0));
+    }
+}
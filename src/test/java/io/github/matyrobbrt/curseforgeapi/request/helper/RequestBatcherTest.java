@@ -0,0 +1,177 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.request.async.OfCompletableFutureAsyncRequest;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how the {@link RequestBatcher} coalesces lookups into bulk requests.
+ * The bulk requests are completed by the tests, and the batches are flushed
+ * explicitly unless the window is tested.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class RequestBatcherTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private final List<List<Integer>> requestedKeys = new ArrayList<>();
+    private final List<CompletableFuture<Response<List<Integer>>>> bulkRequests = new ArrayList<>();
+
+    @Test
+    @DisplayName("Lookups are coalesced into a single bulk request")
+    void coalescesLookups() throws Exception {
+        final var batcher = batcher(NEVER, 10);
+        final var first = batcher.load(3);
+        final var second = batcher.load(1);
+        final var missing = batcher.load(2);
+        batcher.flush();
+        assertThat(requestedKeys).containsExactly(List.of(3, 1, 2));
+
+        bulkRequests.get(0).complete(Response.of(List.of(1, 3), 200));
+        assertThat(first.get().get()).isEqualTo(3);
+        assertThat(second.get().get()).isEqualTo(1);
+        assertThat(missing.get().isEmpty()).isTrue();
+        assertThat(missing.get().getStatusCode()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Lookups of the same key share their result")
+    void deduplicatesKeys() throws Exception {
+        final var batcher = batcher(NEVER, 10);
+        final var first = batcher.load(1);
+        final var second = batcher.load(1);
+        batcher.flush();
+        assertThat(requestedKeys).containsExactly(List.of(1));
+
+        bulkRequests.get(0).complete(Response.of(List.of(1), 200));
+        assertThat(first.get().get()).isEqualTo(1);
+        assertThat(second.get().get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Full batches are sent immediately")
+    void sendsFullBatches() {
+        final var batcher = batcher(NEVER, 2);
+        batcher.load(1);
+        batcher.load(2);
+        batcher.load(3);
+        assertThat(requestedKeys).containsExactly(List.of(1, 2));
+        batcher.flush();
+        assertThat(requestedKeys).containsExactly(List.of(1, 2), List.of(3));
+    }
+
+    @Test
+    @DisplayName("Batches are sent once the window passes")
+    void sendsAfterWindow() throws Exception {
+        final var batcher = new RequestBatcher<Integer, Integer>(keys -> AsyncRequest.of(Response.of(keys, 200)),
+            value -> value, Duration.ofMillis(10), 10);
+        final var lookup = batcher.load(1).toCompletableFuture();
+        assertThat(lookup.get(1, TimeUnit.SECONDS).get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A key is only dropped once all of its lookups are cancelled")
+    void cancelsKeysByRefCount() throws Exception {
+        final var batcher = batcher(NEVER, 10);
+        final var cancelled = batcher.load(1);
+        final var kept = batcher.load(1);
+        batcher.load(2).cancel();
+        cancelled.cancel();
+        batcher.flush();
+        assertThat(requestedKeys).containsExactly(List.of(1));
+
+        bulkRequests.get(0).complete(Response.of(List.of(1), 200));
+        assertThat(kept.get().get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A cancelled key is looked up again by later lookups")
+    void reloadsCancelledKey() {
+        final var batcher = batcher(NEVER, 10);
+        batcher.load(1).cancel();
+        final var reloaded = batcher.load(1).toCompletableFuture();
+        batcher.flush();
+        assertThat(requestedKeys).containsExactly(List.of(1));
+        bulkRequests.get(0).complete(Response.of(List.of(1), 200));
+        assertThat(reloaded.join().get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The bulk request is cancelled once all of its lookups are")
+    void cancelsBulkRequest() {
+        final var batcher = batcher(NEVER, 10);
+        final var first = batcher.load(1);
+        final var second = batcher.load(2);
+        batcher.flush();
+        first.cancel();
+        assertThat(bulkRequests.get(0).isCancelled()).isFalse();
+        second.cancel();
+        assertThat(bulkRequests.get(0).isCancelled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Failures and empty responses reach every lookup")
+    void propagatesFailures() throws Exception {
+        final var batcher = batcher(NEVER, 10);
+        final var failed = batcher.load(1);
+        batcher.flush();
+        bulkRequests.get(0).completeExceptionally(new IllegalStateException("boom"));
+        assertThatThrownBy(failed::get).isInstanceOf(ExecutionException.class);
+
+        final var empty = batcher.load(1);
+        batcher.flush();
+        bulkRequests.get(1).complete(Response.empty(503));
+        assertThat(empty.get().isEmpty()).isTrue();
+        assertThat(empty.get().getStatusCode()).isEqualTo(503);
+    }
+
+    private RequestBatcher<Integer, Integer> batcher(Duration window, int maxBatchSize) {
+        return new RequestBatcher<>(keys -> {
+            final var future = new CompletableFuture<Response<List<Integer>>>();
+            requestedKeys.add(keys);
+            bulkRequests.add(future);
+            return new OfCompletableFutureAsyncRequest<>(future);
+        }, value -> value, window, maxBatchSize);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how the {@link RateLimiter} hands out, delays and gives back permits.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class RateLimiterTest {
+
+    private static final String MODS = "/v1/mods/32274";
+    private static final String GAMES = "/v1/games/432";
+
+    @Test
+    @DisplayName("Permits within the burst are acquired immediately")
+    void burstIsImmediate() {
+        final var limiter = RateLimiter.builder().global(1, 2).build();
+        assertThat(limiter.acquire(MODS).isDone()).isTrue();
+        assertThat(limiter.acquire(GAMES).isDone()).isTrue();
+        final var delayed = limiter.acquire(MODS);
+        assertThat(delayed.isDone()).isFalse();
+        assertThat(limiter.metrics().delayedCount()).isEqualTo(1L);
+        assertThat(limiter.metrics().queueDepth()).isEqualTo(1);
+        delayed.cancel(false);
+    }
+
+    @Test
+    @DisplayName("Delayed permits are acquired once their turn comes")
+    void delayedPermitCompletes() throws Exception {
+        final var limiter = RateLimiter.builder().global(50, 1).build();
+        limiter.acquire(MODS);
+        final var delayed = limiter.acquire(MODS);
+        delayed.get(1, TimeUnit.SECONDS);
+        assertThat(limiter.metrics().queueDepth()).isZero();
+        assertThat(limiter.metrics().maxWait()).isBetween(Duration.ofMillis(1), Duration.ofMillis(20));
+    }
+
+    @Test
+    @DisplayName("Permits not available within the maximum wait are rejected")
+    void rejectsBeyondMaxWait() {
+        final var limiter = RateLimiter.builder().global(1, 1).build();
+        assertThat(limiter.tryAcquire(MODS)).isTrue();
+        assertThat(limiter.tryAcquire(MODS)).isFalse();
+        assertThat(limiter.acquire(MODS, Duration.ofMillis(100))).isNull();
+        assertThat(limiter.metrics().rejectedCount()).isEqualTo(2L);
+        assertThat(limiter.metrics().acquiredCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Cancelled permits are given back")
+    void cancelledPermitIsRefunded() {
+        final var limiter = RateLimiter.builder().global(1, 1).build();
+        limiter.acquire(MODS);
+        final var delayed = limiter.acquire(MODS);
+        delayed.cancel(false);
+        assertThat(limiter.metrics().queueDepth()).isZero();
+        // The cancelled permit was the next one, so it is reserved again instead of the one after it
+        final var next = limiter.acquire(MODS, Duration.ofMillis(1500));
+        assertThat(next).isNotNull();
+        assertThat(limiter.acquire(MODS, Duration.ofMillis(1500))).isNull();
+        next.cancel(false);
+    }
+
+    @Test
+    @DisplayName("Family limits only apply to their endpoints")
+    void familyLimitsMatchByPrefix() {
+        final var limiter = RateLimiter.builder().family("/v1/mods", 1, 1).build();
+        assertThat(limiter.tryAcquire(MODS)).isTrue();
+        assertThat(limiter.tryAcquire("/v1/mods/files")).isFalse();
+        assertThat(limiter.tryAcquire(GAMES)).isTrue();
+        assertThat(limiter.tryAcquire(GAMES)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Family limits give back the global permit when rejected")
+    void rejectedFamilyRefundsGlobal() {
+        final var limiter = RateLimiter.builder().global(1, 2).family("/v1/mods", 1, 1).build();
+        assertThat(limiter.tryAcquire(MODS)).isTrue();
+        assertThat(limiter.tryAcquire(MODS)).isFalse();
+        // The global bucket still has its second permit
+        assertThat(limiter.tryAcquire(GAMES)).isTrue();
+        assertThat(limiter.tryAcquire(GAMES)).isFalse();
+    }
+}
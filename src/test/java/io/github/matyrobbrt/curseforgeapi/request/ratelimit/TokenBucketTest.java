@@ -0,0 +1,119 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the delays computed by the {@link TokenBucket}. The times are passed
+ * explicitly, so the tests don't depend on the clock.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    @Test
+    @DisplayName("The burst is available at once")
+    void burstIsAvailable() {
+        final var bucket = new TokenBucket(10, 3);
+        final var now = System.nanoTime();
+        assertThat(bucket.reserve(now, UNBOUNDED)).isZero();
+        assertThat(bucket.reserve(now, UNBOUNDED)).isZero();
+        assertThat(bucket.reserve(now, UNBOUNDED)).isZero();
+    }
+
+    @Test
+    @DisplayName("Permits after the burst are spaced by the interval")
+    void permitsAreSpaced() {
+        final var bucket = new TokenBucket(10, 3);
+        final var now = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            bucket.reserve(now, UNBOUNDED);
+        }
+        assertThat(bucket.reserve(now, UNBOUNDED)).isEqualTo(INTERVAL);
+        assertThat(bucket.reserve(now, UNBOUNDED)).isEqualTo(2 * INTERVAL);
+        assertThat(bucket.reserve(now, UNBOUNDED)).isEqualTo(3 * INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Permits are refilled over time")
+    void permitsAreRefilled() {
+        final var bucket = new TokenBucket(10, 3);
+        final var now = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            bucket.reserve(now, UNBOUNDED);
+        }
+        // One permit is refilled after an interval
+        assertThat(bucket.reserve(now + INTERVAL, UNBOUNDED)).isZero();
+        assertThat(bucket.reserve(now + INTERVAL, UNBOUNDED)).isEqualTo(INTERVAL);
+        // The whole burst is refilled after it has been idle for long enough
+        final var later = now + 10 * INTERVAL;
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.reserve(later, UNBOUNDED)).isZero();
+        }
+        assertThat(bucket.reserve(later, UNBOUNDED)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Permits over the maximum delay are not reserved")
+    void maxDelayIsRespected() {
+        final var bucket = new TokenBucket(10, 1);
+        final var now = System.nanoTime();
+        assertThat(bucket.reserve(now, 0)).isZero();
+        assertThat(bucket.reserve(now, INTERVAL - 1)).isEqualTo(-1L);
+        // The rejected reservation didn't take a permit
+        assertThat(bucket.reserve(now, INTERVAL)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Refunded permits are given back")
+    void refundedPermitsAreGivenBack() {
+        final var bucket = new TokenBucket(10, 1);
+        final var now = System.nanoTime();
+        bucket.reserve(now, UNBOUNDED);
+        assertThat(bucket.reserve(now, UNBOUNDED)).isEqualTo(INTERVAL);
+        bucket.refund();
+        assertThat(bucket.reserve(now, UNBOUNDED)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Invalid buckets are rejected")
+    void invalidBucketsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new TokenBucket(0, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new TokenBucket(10, 0));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.retry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import javax.net.ssl.SSLSession;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.GenericRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests how the {@link RetryPolicy} decides if, and when, requests are
+ * retried.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class RetryPolicyTest {
+
+    private static final Duration MAX_DELAY = Duration.ofSeconds(10);
+
+    @Test
+    @DisplayName("Retry-After in seconds is honoured")
+    void retryAfterSecondsIsHonoured() {
+        final var policy = policy();
+        assertThat(policy.getRetryDelay(1, response(503, "5"), null)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(policy.getRetryDelay(1, response(429, " 7 "), null)).isEqualTo(Duration.ofSeconds(7));
+        assertThat(policy.getRetryDelay(1, response(503, "0"), null)).isZero();
+        // Negative delays are clamped
+        assertThat(policy.getRetryDelay(1, response(503, "-3"), null)).isZero();
+    }
+
+    @Test
+    @DisplayName("Retry-After as an HTTP date is honoured")
+    void retryAfterDateIsHonoured() {
+        final var policy = policy();
+        final var date = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(8);
+        final var delay = policy.getRetryDelay(1, response(503, DateTimeFormatter.RFC_1123_DATE_TIME.format(date)), null);
+        // The date has a precision of one second
+        assertThat(delay).isBetween(Duration.ofSeconds(6), Duration.ofSeconds(8));
+
+        final var past = ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(1);
+        assertThat(policy.getRetryDelay(1, response(503, DateTimeFormatter.RFC_1123_DATE_TIME.format(past)), null))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Retry-After longer than the maximum delay is not retried")
+    void longRetryAfterIsNotRetried() {
+        final var policy = policy();
+        assertThat(policy.getRetryDelay(1, response(503, "11"), null)).isNull();
+        assertThat(policy.getRetryDelay(1, response(503, "10"), null)).isEqualTo(MAX_DELAY);
+    }
+
+    @Test
+    @DisplayName("Invalid Retry-After falls back to backoff")
+    void invalidRetryAfterFallsBackToBackoff() {
+        final var policy = policy();
+        assertThat(policy.getRetryDelay(1, response(503, "soon"), null))
+            .isBetween(Duration.ZERO, Duration.ofMillis(100));
+        assertThat(policy.getRetryDelay(2, response(503, null), null))
+            .isBetween(Duration.ZERO, Duration.ofMillis(200));
+    }
+
+    @Test
+    @DisplayName("Only retryable failures are retried")
+    void onlyRetryableFailuresAreRetried() {
+        final var policy = policy();
+        assertThat(policy.getRetryDelay(1, response(200, null), null)).isNull();
+        assertThat(policy.getRetryDelay(1, response(404, "1"), null)).isNull();
+        assertThat(policy.getRetryDelay(1, null, new IllegalStateException())).isNull();
+        assertThat(policy.getRetryDelay(1, null, new CompletionException(new IOException()))).isNotNull();
+        // The last attempt is never retried
+        assertThat(policy.getRetryDelay(3, response(503, "1"), null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Retries are limited by the budget")
+    void retriesAreLimitedByBudget() {
+        final var policy = RetryPolicy.builder().budget(0.5, 2).build();
+        assertThat(policy.getRetryDelay(1, response(503, "1"), null)).isNotNull();
+        assertThat(policy.getRetryDelay(1, response(503, "1"), null)).isNotNull();
+        assertThat(policy.getRetryDelay(1, response(503, "1"), null)).isNull();
+        assertThat(policy.metrics().budgetExhaustedCount()).isEqualTo(1L);
+
+        // Two requests deposit a whole retry
+        policy.onRequest();
+        assertThat(policy.getRetryDelay(1, response(503, "1"), null)).isNull();
+        policy.onRequest();
+        assertThat(policy.getRetryDelay(1, response(503, "1"), null)).isNotNull();
+        assertThat(policy.metrics().retryCount()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("PUT requests are never idempotent")
+    void putRequestsAreNotIdempotent() {
+        final var policy = RetryPolicy.builder().idempotence(request -> true).build();
+        assertThat(policy.isIdempotent(new GenericRequest("/v1/mods/1", Method.GET))).isTrue();
+        assertThat(policy.isIdempotent(new GenericRequest("/v1/mods/1", Method.PUT))).isFalse();
+        assertThat(RetryPolicy.DEFAULT_IDEMPOTENCE.test(new GenericRequest("/v1/fingerprints", Method.POST)))
+            .isTrue();
+    }
+
+    private static RetryPolicy policy() {
+        return RetryPolicy.builder().backoff(Duration.ofMillis(100), MAX_DELAY).build();
+    }
+
+    private static HttpResponse<Void> response(int statusCode, @Nullable String retryAfter) {
+        final var headers = retryAfter == null ? Map.<String, List<String>>of()
+            : Map.of("Retry-After", List.of(retryAfter));
+        return new Response(statusCode, HttpHeaders.of(headers, (name, value) -> true));
+    }
+
+    private record Response(int statusCode, HttpHeaders headers) implements HttpResponse<Void> {
+
+        @Override
+        public HttpRequest request() {
+            return HttpRequest.newBuilder(uri()).build();
+        }
+
+        @Override
+        public Optional<HttpResponse<Void>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Void body() {
+            return null;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return URI.create("https://api.curseforge.com/v1/mods/1");
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Priority;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the order in which a {@link PriorityScheduler} dispatches requests.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class PrioritySchedulerTest {
+
+    @Test
+    @DisplayName("Priorities are dispatched in the ratio of their weights")
+    void dispatchesByWeight() {
+        final var scheduler = scheduler(Duration.ofHours(1));
+        final var held = scheduler.tryAcquire(Priority.INTERACTIVE);
+        final var dispatched = new ArrayList<Priority>();
+        for (int i = 0; i < 40; i++) {
+            for (final var priority : Priority.values()) {
+                queue(scheduler, priority, dispatched::add);
+            }
+        }
+        held.release();
+
+        assertThat(dispatched).hasSize(120);
+        final var firstRound = dispatched.subList(0, 21);
+        assertThat(count(firstRound, Priority.INTERACTIVE)).isEqualTo(16);
+        assertThat(count(firstRound, Priority.BACKGROUND)).isEqualTo(4);
+        assertThat(count(firstRound, Priority.BULK)).isEqualTo(1);
+        assertThat(scheduler.metrics().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Requests of the same priority are dispatched in order")
+    void dispatchesInOrderWithinPriority() {
+        final var scheduler = scheduler(Duration.ofHours(1));
+        final var held = scheduler.tryAcquire(Priority.INTERACTIVE);
+        final var dispatched = new ArrayList<Integer>();
+        for (int i = 0; i < 10; i++) {
+            final var id = i;
+            queue(scheduler, i % 2 == 0 ? Priority.BULK : Priority.BACKGROUND, priority -> dispatched.add(id));
+        }
+        held.release();
+
+        final var bulk = new ArrayList<Integer>();
+        final var background = new ArrayList<Integer>();
+        dispatched.forEach(id -> (id % 2 == 0 ? bulk : background).add(id));
+        assertThat(bulk).containsExactly(0, 2, 4, 6, 8);
+        assertThat(background).containsExactly(1, 3, 5, 7, 9);
+    }
+
+    @Test
+    @DisplayName("Cancelled requests are skipped")
+    void cancelledRequestsAreSkipped() {
+        final var scheduler = scheduler(Duration.ofHours(1));
+        final var held = scheduler.tryAcquire(Priority.INTERACTIVE);
+        final var dispatched = new ArrayList<Integer>();
+        queue(scheduler, Priority.BULK, priority -> dispatched.add(0));
+        scheduler.acquire(Priority.BULK).cancel(false);
+        queue(scheduler, Priority.BULK, priority -> dispatched.add(2));
+        assertThat(scheduler.metrics().queueLengths().get(Priority.BULK)).isEqualTo(2);
+
+        held.release();
+        assertThat(dispatched).containsExactly(0, 2);
+        assertThat(scheduler.metrics().dispatchedCounts().get(Priority.BULK)).isEqualTo(2L);
+        assertThat(scheduler.metrics().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Permits are only tried while the scheduler has room")
+    void tryAcquireRespectsLimit() {
+        final var scheduler = scheduler(Duration.ofHours(1));
+        final var permit = scheduler.tryAcquire(Priority.BULK);
+        assertThat(permit).isNotNull();
+        assertThat(scheduler.tryAcquire(Priority.INTERACTIVE)).isNull();
+        permit.release();
+        assertThat(scheduler.tryAcquire(Priority.INTERACTIVE)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Requests waiting for too long are promoted")
+    void starvedRequestsArePromoted() throws InterruptedException {
+        final var scheduler = scheduler(Duration.ofMillis(50));
+        final var held = scheduler.tryAcquire(Priority.INTERACTIVE);
+        final var dispatched = new ArrayList<Priority>();
+        queue(scheduler, Priority.BULK, dispatched::add);
+        Thread.sleep(100);
+        queue(scheduler, Priority.INTERACTIVE, dispatched::add);
+        held.release();
+
+        assertThat(dispatched).containsExactly(Priority.BULK, Priority.INTERACTIVE);
+        assertThat(scheduler.metrics().promotedCount()).isEqualTo(1L);
+    }
+
+    private static PriorityScheduler scheduler(Duration maxQueueTime) {
+        return PriorityScheduler.builder().maxConcurrentRequests(1).maxQueueTime(maxQueueTime).build();
+    }
+
+    /**
+     * Queues a request which is completed as soon as it is dispatched.
+     */
+    private static void queue(PriorityScheduler scheduler, Priority priority, Consumer<Priority> onDispatch) {
+        scheduler.acquire(priority).thenAccept(permit -> {
+            onDispatch.accept(priority);
+            permit.release();
+        });
+    }
+
+    private static int count(List<Priority> priorities, Priority priority) {
+        return (int) priorities.stream().filter(priority::equals).count();
+    }
+}
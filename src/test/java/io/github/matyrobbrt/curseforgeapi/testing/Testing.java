@@ -29,6 +29,7 @@ package io.github.matyrobbrt.curseforgeapi.testing;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -39,6 +40,7 @@ import org.junit.jupiter.api.Test;
 
 import io.github.cdimascio.dotenv.Dotenv;
 import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.Requests;
 import io.github.matyrobbrt.curseforgeapi.request.Response;
 import io.github.matyrobbrt.curseforgeapi.request.query.FeaturedModsQuery;
@@ -50,6 +52,7 @@ import io.github.matyrobbrt.curseforgeapi.schemas.file.FileRelationType;
 import io.github.matyrobbrt.curseforgeapi.schemas.file.FileReleaseType;
 import io.github.matyrobbrt.curseforgeapi.schemas.fingerprint.FingerprintsMatchesResult;
 import io.github.matyrobbrt.curseforgeapi.schemas.game.Game;
+import io.github.matyrobbrt.curseforgeapi.schemas.mod.Mod;
 import io.github.matyrobbrt.curseforgeapi.util.Constants;
 import io.github.matyrobbrt.curseforgeapi.util.Constants.GameIDs;
 import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
@@ -80,6 +83,8 @@ final class Testing {
         .get();
     
     private static final int MOD_ID = 570544;
+    private static final int JEI_MOD_ID = 238222;
+    private static final int JOURNEY_MAP_MOD_ID = 32274;
 
     @Test
     @DisplayName("Category exists")
@@ -233,6 +238,23 @@ final class Testing {
         assertThat(responses).hasSize(4);
     }
     
+    @Test
+    @DisplayName("Batched mods match bulk request")
+    void batchedModsMatchBulkRequest() throws Exception {
+        final var asyncHelper = CF_API.getAsyncHelper().withModBatching(Duration.ofMillis(50), 2);
+        final var mods = AsyncRequest.all(
+            asyncHelper.getMod(MOD_ID),
+            asyncHelper.getMod(JEI_MOD_ID),
+            asyncHelper.getMod(JOURNEY_MAP_MOD_ID)
+        ).get();
+        
+        final var bulkResponse = CF_API.getHelper().getMods(MOD_ID, JEI_MOD_ID, JOURNEY_MAP_MOD_ID);
+        assertThat(bulkResponse).isPresent();
+        assertThat(mods).allMatch(Response::isPresent)
+            .extracting(r -> r.get().id())
+            .containsExactlyInAnyOrderElementsOf(bulkResponse.get().stream().map(Mod::id).toList());
+    }
+    
     @Test
     @DisplayName("Async and")
     void testAsyncAnd() throws Exception {